@@ -0,0 +1,175 @@
+package com.wesley.backend.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.ResponseDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.utils.JsonEnvelopeWriter;
+
+/**
+ * Envelope de ResponseDto escrito como hoje (lista materializada a partir
+ * do cursor e serializada de uma vez) e item a item pelo JsonEnvelopeWriter.
+ * Os benchmarks *FirstByte medem só o tempo até o primeiro byte chegar ao
+ * stream de saída; os demais, a resposta inteira e a alocação (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class EnvelopeWriterBenchmark {
+
+  @Param({ "1000", "100000" })
+  private int size;
+
+  private TestView[] rows;
+
+  private ObjectMapper objectMapper;
+
+  private JsonEnvelopeWriter envelopes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    envelopes = new JsonEnvelopeWriter(objectMapper);
+    List<Teste> tests = TestDataset.generate(size, LocalDate.now());
+    rows = new TestView[size];
+    for (int i = 0; i < size; i++) {
+      Teste test = tests.get(i);
+      rows[i] = new TestView(
+        test.getId(),
+        test.getNome(),
+        test.getStatus(),
+        test.getFim()
+      );
+    }
+  }
+
+  @Benchmark
+  public long materialized() throws IOException {
+    CountingOutputStream out = new CountingOutputStream(false);
+    writeMaterialized(out);
+    return out.count;
+  }
+
+  @Benchmark
+  public long streaming() throws IOException {
+    CountingOutputStream out = new CountingOutputStream(false);
+    writeStreaming(out);
+    return out.count;
+  }
+
+  @Benchmark
+  public long materializedFirstByte() throws IOException {
+    CountingOutputStream out = new CountingOutputStream(true);
+    try {
+      writeMaterialized(out);
+    } catch (IOException e) {
+      rethrowUnlessFirstByte(e, out);
+    }
+    return out.count;
+  }
+
+  @Benchmark
+  public long streamingFirstByte() throws IOException {
+    CountingOutputStream out = new CountingOutputStream(true);
+    try {
+      writeStreaming(out);
+    } catch (IOException | UncheckedIOException e) {
+      rethrowUnlessFirstByte(e, out);
+    }
+    return out.count;
+  }
+
+  /** O Jackson pode embrulhar a exceção do stream; basta ter havido escrita. */
+  private static void rethrowUnlessFirstByte(
+    Exception e,
+    CountingOutputStream out
+  ) throws IOException {
+    if (out.count == 0) {
+      throw new IOException(e);
+    }
+  }
+
+  private void writeMaterialized(OutputStream out) throws IOException {
+    List<TestView> data = new ArrayList<>();
+    for (TestView row : rows) {
+      data.add(row);
+    }
+    objectMapper.writeValue(out, ResponseDto.success(data));
+  }
+
+  private void writeStreaming(OutputStream out) throws IOException {
+    try (
+      JsonEnvelopeWriter.Envelope<TestView> envelope = envelopes.open(
+        out,
+        TestView.class
+      )
+    ) {
+      for (TestView row : rows) {
+        envelope.write(row);
+      }
+      envelope.finish();
+    }
+  }
+
+  /** Interrompe a escrita no primeiro byte, sem custo de stack trace. */
+  private static final class FirstByte extends IOException {
+    private static final FirstByte INSTANCE = new FirstByte();
+
+    private FirstByte() {
+      super("primeiro byte");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+
+    private final boolean stopAtFirstByte;
+    private long count;
+
+    CountingOutputStream(boolean stopAtFirstByte) {
+      this.stopAtFirstByte = stopAtFirstByte;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      count += len;
+      if (stopAtFirstByte) {
+        throw FirstByte.INSTANCE;
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.wesley.backend.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wesley.backend.BackendApplication;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.service.TestSearchService;
+import com.wesley.backend.utils.TestUtils;
+
+/**
+ * GET /v1/test/search sem a camada web, sobre o H2 embutido com 1 milhão de
+ * testes. Os nomes combinam prenomes e sobrenomes comuns com um número, para
+ * que os termos tenham seletividades diferentes: um prefixo que sozinho
+ * enche o limite, trechos frequentes e raros no meio do nome e um termo sem
+ * resultado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+public class NameSearchBenchmark {
+
+  private static final String[] FIRST = {
+    "Ana", "Bruno", "Carla", "Daniel", "Érica", "Fábio", "Gabriela",
+    "Heitor", "Isabela", "João", "Karina", "Lucas", "Maria", "Nícolas",
+    "Otávio", "Paula", "Rafael", "Sofia", "Tiago", "Vitória",
+  };
+
+  private static final String[] LAST = {
+    "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves",
+    "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho",
+    "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+  };
+
+  @Param({ "1000000" })
+  private int rows;
+
+  @Param({ "maria", "silva", "lima 4242", "zzz" })
+  private String q;
+
+  private ConfigurableApplicationContext context;
+
+  private TestSearchService searchService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = SpringApplication.run(
+      BackendApplication.class,
+      "--spring.main.web-application-type=none",
+      "--logging.level.root=WARN",
+      "--teste.sql.proxy.enabled=false"
+    );
+    searchService = context.getBean(TestSearchService.class);
+    JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+    SplittableRandom random = new SplittableRandom(42);
+    Date fim = Date.valueOf(LocalDate.now().plusDays(4));
+    List<Object[]> batch = new ArrayList<>(10_000);
+    for (int i = 1; i <= rows; i++) {
+      String nome =
+        FIRST[random.nextInt(FIRST.length)] +
+        " " +
+        LAST[random.nextInt(LAST.length)] +
+        " " +
+        LAST[random.nextInt(LAST.length)] +
+        " " +
+        random.nextInt(10_000);
+      batch.add(
+        new Object[] { (long) i, nome, TestUtils.normalizeName(nome), fim }
+      );
+      if (batch.size() == 10_000 || i == rows) {
+        jdbc.batchUpdate(
+          "INSERT INTO teste (id, nome, nome_normalizado, status, fim, versao) " +
+          "VALUES (?, ?, ?, 'EM_TESTE', ?, 0)",
+          batch
+        );
+        batch.clear();
+      }
+    }
+    searchService.reload();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<TestView> search() {
+    return searchService.search(q, 20);
+  }
+}
@@ -0,0 +1,108 @@
+package com.wesley.backend.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wesley.backend.BackendApplication;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+
+/**
+ * Custo de uma página de testes no H2 embutido: entidades gerenciadas
+ * (hidratação, snapshot para dirty checking) contra projeções TestView
+ * montadas direto do resultado. Sobe a aplicação sem servidor web e popula
+ * a tabela por JDBC; as páginas são percorridas em rodízio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class PageQueryBenchmark {
+
+  private static final int ROWS = 50_000;
+
+  @Param({ "1000" })
+  private int pageSize;
+
+  private ConfigurableApplicationContext context;
+
+  private TestRepository repository;
+
+  private int page;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = SpringApplication.run(
+      BackendApplication.class,
+      "--spring.main.web-application-type=none",
+      "--logging.level.root=WARN",
+      "--teste.sql.proxy.enabled=false"
+    );
+    repository = context.getBean(TestRepository.class);
+    JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+    List<Object[]> rows = new ArrayList<>(ROWS);
+    for (Teste test : TestDataset.generate(ROWS, LocalDate.now())) {
+      rows.add(
+        new Object[] {
+          test.getId(),
+          test.getNome(),
+          test.getStatus().name(),
+          Date.valueOf(test.getFim()),
+        }
+      );
+    }
+    jdbc.batchUpdate(
+      "INSERT INTO teste (id, nome, status, fim, versao) VALUES (?, ?, ?, ?, 0)",
+      rows
+    );
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Page<Teste> entities() {
+    return repository.findAll(nextPage());
+  }
+
+  @Benchmark
+  public Page<TestView> views() {
+    return repository.findViewsBy(nextPage());
+  }
+
+  private Pageable nextPage() {
+    page = (page + 1) % (ROWS / pageSize);
+    return PageRequest.of(page, pageSize, Sort.by("id"));
+  }
+}
@@ -0,0 +1,42 @@
+package com.wesley.backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wesley.backend.exceptions.InvalidTestStatusException;
+import com.wesley.backend.utils.TestUtils;
+
+/**
+ * Conversão do status vindo da URL, em minúsculas como os clientes enviam.
+ * O último valor é inválido e mede o caminho de erro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseStatusBenchmark {
+
+  @Param({ "em_teste", "TESTE_FINALIZADO", "retirado", "desconhecido" })
+  private String status;
+
+  @Benchmark
+  public Object parseStatus() {
+    try {
+      return TestUtils.parseStatus(status);
+    } catch (InvalidTestStatusException e) {
+      return e;
+    }
+  }
+}
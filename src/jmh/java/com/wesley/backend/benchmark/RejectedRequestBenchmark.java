@@ -0,0 +1,93 @@
+package com.wesley.backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.ResponseDto;
+import com.wesley.backend.exceptions.GlobalExceptionHandler;
+import com.wesley.backend.exceptions.NotFoundException;
+
+/**
+ * Custo de uma requisição rejeitada, do lançamento da exceção ao corpo
+ * JSON: como era (exceção com stack trace e ResponseDto serializado a cada
+ * vez) e como é (exceção de domínio sem stack trace e corpo pré-serializado
+ * do GlobalExceptionHandler). A profundidade simula a pilha do Tomcat e do
+ * Spring sobre o controller, que é o que a captura do stack trace percorre.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectedRequestBenchmark {
+
+  @Param({ "20", "120" })
+  private int depth;
+
+  private String status = "ADQUIRIDO";
+
+  private ObjectMapper objectMapper;
+
+  private GlobalExceptionHandler handler;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    handler = new GlobalExceptionHandler(objectMapper);
+  }
+
+  @Benchmark
+  public byte[] stackTraceAndSerialize() throws Exception {
+    try {
+      throwAt(depth, true);
+      return null;
+    } catch (LegacyNotFoundException e) {
+      return objectMapper.writeValueAsBytes(ResponseDto.error(e.getMessage()));
+    }
+  }
+
+  @Benchmark
+  public byte[] stacklessAndPreSerialized() {
+    try {
+      throwAt(depth, false);
+      return null;
+    } catch (NotFoundException e) {
+      ResponseEntity<byte[]> response = handler.handleNotFound(e);
+      return response.getBody();
+    }
+  }
+
+  private int throwAt(int frames, boolean legacy) {
+    if (frames > 0) {
+      return throwAt(frames - 1, legacy) + 1;
+    }
+    String message = "Nenhum teste encontrado com o status: " + status;
+    throw legacy
+      ? new LegacyNotFoundException(message)
+      : new NotFoundException(message);
+  }
+
+  /** NotFoundException como era antes, capturando o stack trace. */
+  private static final class LegacyNotFoundException extends RuntimeException {
+
+    LegacyNotFoundException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.wesley.backend.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.ResponseDto;
+import com.wesley.backend.dto.ResponsePageDto;
+import com.wesley.backend.models.Teste;
+
+/**
+ * Serialização dos envelopes de resposta com o ObjectMapper configurado
+ * como o do Spring Boot (datas ISO, módulos registrados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ResponseSerializationBenchmark {
+
+  @Param({ "1000", "100000", "1000000" })
+  private int size;
+
+  private ObjectMapper objectMapper;
+
+  private ResponsePageDto<Teste> page;
+
+  private ResponseDto<Teste> list;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    List<Teste> tests = TestDataset.generate(size, LocalDate.now());
+    page = ResponsePageDto.success(
+      new PageImpl<>(tests, PageRequest.of(0, size), size * 10L)
+    );
+    list = ResponseDto.success(tests);
+  }
+
+  @Benchmark
+  public byte[] responsePageDto() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] responseDto() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(list);
+  }
+}
@@ -0,0 +1,47 @@
+package com.wesley.backend.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+
+/**
+ * Gera testes sintéticos com fim espalhado entre 60 dias atrás e 30 dias à
+ * frente e a distribuição de status que vemos em produção: a maioria em
+ * teste ou expirada, uma parte adquirida ou retirada. A semente é fixa,
+ * para que execuções diferentes usem os mesmos dados.
+ */
+final class TestDataset {
+
+  private static final int DAYS_BACK = 60;
+  private static final int DAYS_AHEAD = 30;
+
+  private TestDataset() {}
+
+  static List<Teste> generate(int size, LocalDate today) {
+    SplittableRandom random = new SplittableRandom(42);
+    LocalDate[] days = new LocalDate[DAYS_BACK + DAYS_AHEAD + 1];
+    for (int i = 0; i < days.length; i++) {
+      days[i] = today.plusDays(i - DAYS_BACK);
+    }
+    List<Teste> tests = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Teste test = new Teste(new TestDto((long) i + 1, "teste" + (i % 1000)));
+      test.setFim(days[random.nextInt(days.length)]);
+      int roll = random.nextInt(100);
+      if (roll < 10) {
+        test.setStatus(TestEnum.ADQUIRIDO);
+      } else if (roll < 15) {
+        test.setStatus(TestEnum.RETIRADO);
+      } else {
+        test.updateStatus(today);
+      }
+      tests.add(test);
+    }
+    return tests;
+  }
+}
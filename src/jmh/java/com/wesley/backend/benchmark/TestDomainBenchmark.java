@@ -0,0 +1,106 @@
+package com.wesley.backend.benchmark;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.utils.StatusCounts;
+import com.wesley.backend.utils.TestUtils;
+
+/**
+ * Custo das operações de domínio sobre listas de testes, de 1 mil a 10
+ * milhões de itens. Cada operação percorre a lista inteira, então o
+ * resultado é em operações (listas completas) por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class TestDomainBenchmark {
+
+  @Param({ "1000", "100000", "1000000", "10000000" })
+  private int size;
+
+  private List<Teste> tests;
+
+  private LocalDate today;
+
+  private YearMonth month;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    today = LocalDate.now();
+    month = YearMonth.from(today);
+    tests = TestDataset.generate(size, today);
+  }
+
+  @Benchmark
+  public void updateStatus() {
+    for (Teste test : tests) {
+      test.updateStatus(today);
+    }
+  }
+
+  @Benchmark
+  public void updateStatusWithNow() {
+    for (Teste test : tests) {
+      test.updateStatus();
+    }
+  }
+
+  @Benchmark
+  public List<Teste> filterTestsByMonth() {
+    return TestUtils.filterTestsByMonth(tests);
+  }
+
+  @Benchmark
+  public void countByStatus(Blackhole blackhole) {
+    for (TestEnum status : TestEnum.values()) {
+      blackhole.consume(TestUtils.countByStatus(tests, status));
+    }
+  }
+
+  /** Estatísticas do mês como eram montadas em memória: filtro e uma passada por status. */
+  @Benchmark
+  public EstatisticDto monthStatisticsByFilterAndCount() {
+    List<Teste> monthTests = TestUtils.filterTestsByMonth(tests);
+    return EstatisticDto.of(
+      monthTests.size(),
+      TestUtils.countByStatus(monthTests, TestEnum.ADQUIRIDO),
+      TestUtils.countByStatus(monthTests, TestEnum.RETIRADO)
+    );
+  }
+
+  @Benchmark
+  public EstatisticDto monthStatisticsSinglePass() {
+    return TestUtils.countByStatus(tests, month).toEstatisticDto();
+  }
+
+  @Benchmark
+  public EstatisticDto monthStatisticsParallel() {
+    StatusCounts counts = tests
+      .parallelStream()
+      .collect(TestUtils.statusCounts(month.atDay(1), month.atEndOfMonth()));
+    return counts.toEstatisticDto();
+  }
+}
@@ -0,0 +1,96 @@
+package com.wesley.backend.load;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.utils.TestUtils;
+
+/**
+ * Popula a tabela de testes direto por JDBC, em lotes, sem passar pela API.
+ * O fim é espalhado entre 90 dias atrás e 30 dias à frente; 15% dos testes
+ * são adquiridos ou retirados e os demais têm o status que a data implica,
+ * como se a varredura diária já tivesse rodado.
+ */
+final class DatasetSeeder {
+
+  private static final int BATCH = 5000;
+  private static final int DAYS_BACK = 90;
+  private static final int DAYS_AHEAD = 30;
+
+  private final JdbcTemplate jdbc;
+
+  DatasetSeeder(DataSource dataSource) {
+    this.jdbc = new JdbcTemplate(dataSource);
+  }
+
+  /**
+   * Apaga os dados existentes e insere testes com ids de 1 a rows.
+   * @return Ids dos testes criados como EM_TESTE, em ordem.
+   */
+  long[] seed(int rows, LocalDate today) {
+    jdbc.update("DELETE FROM teste");
+    jdbc.update("DELETE FROM teste_estatistica");
+    SplittableRandom random = new SplittableRandom(42);
+    List<Object[]> batch = new ArrayList<>(BATCH);
+    long[] emTeste = new long[rows];
+    int emTesteCount = 0;
+    for (long id = 1; id <= rows; id++) {
+      LocalDate fim = today.plusDays(
+        random.nextInt(DAYS_BACK + DAYS_AHEAD + 1) - DAYS_BACK
+      );
+      TestEnum status = status(random.nextInt(100), fim, today);
+      if (status == TestEnum.EM_TESTE) {
+        emTeste[emTesteCount++] = id;
+      }
+      String nome = "teste" + id;
+      batch.add(
+        new Object[] {
+          id,
+          nome,
+          TestUtils.normalizeName(nome),
+          status.name(),
+          Date.valueOf(fim),
+        }
+      );
+      if (batch.size() == BATCH) {
+        insert(batch);
+      }
+    }
+    insert(batch);
+    return Arrays.copyOf(emTeste, emTesteCount);
+  }
+
+  private static TestEnum status(int roll, LocalDate fim, LocalDate today) {
+    if (roll < 10) {
+      return TestEnum.ADQUIRIDO;
+    }
+    if (roll < 15) {
+      return TestEnum.RETIRADO;
+    }
+    if (fim.isBefore(today)) {
+      return TestEnum.TESTE_EXPIRADO;
+    }
+    return fim.isEqual(today) ? TestEnum.TESTE_FINALIZADO : TestEnum.EM_TESTE;
+  }
+
+  private void insert(List<Object[]> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    jdbc.batchUpdate(
+      "INSERT INTO teste (id, nome, nome_normalizado, status, fim, versao) " +
+      "VALUES (?, ?, ?, ?, ?, 0)",
+      batch
+    );
+    batch.clear();
+  }
+}
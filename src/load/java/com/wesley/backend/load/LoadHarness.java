@@ -0,0 +1,378 @@
+package com.wesley.backend.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.wesley.backend.BackendApplication;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.service.TestService;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação numa porta livre,
+ * popula o banco com testes sintéticos por JDBC e dispara os sete
+ * endpoints de /v1/test a taxas fixas, em modelo aberto. Ao fim imprime
+ * p50, p99 e p999 de cada endpoint (HdrHistogram) e grava a distribuição
+ * completa em arquivos .hgrm. Com um arquivo de limites, a execução falha
+ * se algum percentil ou taxa de erro passar do limite.
+ *
+ * <pre>
+ * mvn -Pload test-compile exec:java@harness -Dexec.args="--rows=1000000"
+ * </pre>
+ *
+ * Opções: --rows (100000), --duration (60s), --warmup (10s), --mix (taxas
+ * em req/s por endpoint), --db (URL JDBC; padrão H2 em memória), --out
+ * (target/load) e --thresholds (arquivo .properties).
+ */
+public class LoadHarness {
+
+  private static final String DEFAULT_MIX =
+    "list=50,status=20,statistics=20,create=10,update=10," +
+    "update-status=5,delete=5";
+
+  private static final TestEnum[] FINAL = {
+    TestEnum.ADQUIRIDO,
+    TestEnum.RETIRADO,
+  };
+
+  private final Map<String, String> options;
+  private final int rows;
+  private final Path out;
+
+  private String baseUrl;
+  private long[] emTeste;
+  private final AtomicLong nextCreateId = new AtomicLong();
+  private final AtomicLong nextDeleteId = new AtomicLong();
+  private final AtomicInteger nextStatusIndex = new AtomicInteger();
+
+  LoadHarness(Map<String, String> options) {
+    this.options = options;
+    this.rows = Integer.parseInt(options.getOrDefault("rows", "100000"));
+    this.out = Path.of(options.getOrDefault("out", "target/load"));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+      options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+    }
+    new LoadHarness(options).run();
+  }
+
+  private void run() throws Exception {
+    try (ConfigurableApplicationContext context = boot()) {
+      baseUrl =
+        "http://localhost:" +
+        context.getEnvironment().getProperty("local.server.port");
+      seed(context);
+      List<OpenLoopGenerator> generators = drive();
+      report(generators);
+      checkThresholds(generators);
+    }
+  }
+
+  private ConfigurableApplicationContext boot() {
+    List<String> args = new ArrayList<>(
+      List.of("--server.port=0", "--logging.level.root=WARN")
+    );
+    String db = options.get("db");
+    if (db != null) {
+      args.add("--spring.datasource.url=" + db);
+    }
+    return SpringApplication.run(
+      BackendApplication.class,
+      args.toArray(String[]::new)
+    );
+  }
+
+  private void seed(ConfigurableApplicationContext context) {
+    long start = System.nanoTime();
+    LocalDate today = LocalDate.now();
+    emTeste = new DatasetSeeder(context.getBean(DataSource.class)).seed(
+      rows,
+      today
+    );
+    context.getBean(TestService.class).reconcileStatistics();
+    nextCreateId.set(rows + 1L);
+    nextDeleteId.set(rows);
+    System.out.printf(
+      Locale.ROOT,
+      "%d testes criados em %.1fs (%d em teste)%n",
+      rows,
+      (System.nanoTime() - start) / 1e9,
+      emTeste.length
+    );
+  }
+
+  private List<OpenLoopGenerator> drive() throws InterruptedException {
+    Duration warmup = Duration.parse(
+      "PT" + options.getOrDefault("warmup", "10s")
+    );
+    Duration duration = Duration.parse(
+      "PT" + options.getOrDefault("duration", "60s")
+    );
+    HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+    long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    long measureFrom = start + warmup.toNanos();
+    long end = measureFrom + duration.toNanos();
+
+    List<OpenLoopGenerator> generators = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (Map.Entry<String, Double> entry : mix().entrySet()) {
+      OpenLoopGenerator generator = new OpenLoopGenerator(
+        entry.getKey(),
+        entry.getValue(),
+        requests(entry.getKey()),
+        client,
+        start,
+        measureFrom,
+        end
+      );
+      generators.add(generator);
+      Thread thread = new Thread(generator, "load-" + entry.getKey());
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (OpenLoopGenerator generator : generators) {
+      generator.awaitInFlight(TimeUnit.SECONDS.toNanos(30));
+    }
+    return generators;
+  }
+
+  private Map<String, Double> mix() {
+    Map<String, Double> mix = new LinkedHashMap<>();
+    for (String entry : options.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+      String[] pair = entry.split("=");
+      double rate = Double.parseDouble(pair[1]);
+      if (rate > 0) {
+        mix.put(pair[0].trim(), rate);
+      }
+    }
+    return mix;
+  }
+
+  /**
+   * Requisições de cada endpoint. Atualizações de nome usam os testes em
+   * andamento de índice par, mudanças de status consomem os de índice
+   * ímpar e as remoções vêm do fim da faixa de ids, para que uma operação
+   * não invalide o alvo da outra.
+   */
+  private Supplier<HttpRequest> requests(String endpoint) {
+    switch (endpoint) {
+      case "list":
+        return () ->
+          get("/v1/test?page=" + random(100) + "&size=20&sort=id");
+      case "status":
+        return () ->
+          get(
+            "/v1/test/status/" +
+            TestEnum.values()[random(TestEnum.values().length)].name() +
+            "?page=0&size=20"
+          );
+      case "statistics":
+        return () -> get("/v1/test/statistics");
+      case "create":
+        return () -> {
+          long id = nextCreateId.getAndIncrement();
+          return json(
+            "POST",
+            "/v1/test",
+            "{\"id\":" + id + ",\"nome\":\"carga" + id + "\"}"
+          );
+        };
+      case "update":
+        return () -> {
+          long id = emTeste[2 * random(Math.max(emTeste.length / 2, 1))];
+          return json(
+            "PUT",
+            "/v1/test/update",
+            "{\"id\":" + id + ",\"nome\":\"renomeado" + id + "\"}"
+          );
+        };
+      case "update-status":
+        return () -> {
+          int next = nextStatusIndex.getAndIncrement();
+          long id = emTeste[Math.min(2 * next + 1, emTeste.length - 1)];
+          TestEnum status = FINAL[next % FINAL.length];
+          return json(
+            "PUT",
+            "/v1/test/update-status",
+            "{\"id\":" + id + ",\"status\":\"" + status + "\"}"
+          );
+        };
+      case "delete":
+        return () ->
+          HttpRequest.newBuilder(
+            URI.create(
+              baseUrl + "/v1/test/delete/" + nextDeleteId.getAndDecrement()
+            )
+          )
+            .DELETE()
+            .build();
+      default:
+        throw new IllegalArgumentException(
+          "Endpoint desconhecido: " + endpoint
+        );
+    }
+  }
+
+  private static int random(int bound) {
+    return ThreadLocalRandom.current().nextInt(bound);
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+  }
+
+  private HttpRequest json(String method, String path, String body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+      .header("Content-Type", "application/json")
+      .method(method, HttpRequest.BodyPublishers.ofString(body))
+      .build();
+  }
+
+  private void report(List<OpenLoopGenerator> generators) throws IOException {
+    Files.createDirectories(out);
+    StringBuilder csv = new StringBuilder(
+      "endpoint,rate,count,errors,p50_ms,p99_ms,p999_ms,max_ms\n"
+    );
+    System.out.printf(
+      Locale.ROOT,
+      "%-14s %8s %9s %7s %9s %9s %9s %9s%n",
+      "endpoint",
+      "req/s",
+      "total",
+      "erros",
+      "p50 ms",
+      "p99 ms",
+      "p999 ms",
+      "max ms"
+    );
+    for (OpenLoopGenerator generator : generators) {
+      Histogram histogram = generator.histogram();
+      String line = String.format(
+        Locale.ROOT,
+        "%s,%.1f,%d,%d,%.3f,%.3f,%.3f,%.3f",
+        generator.name(),
+        generator.ratePerSecond(),
+        histogram.getTotalCount(),
+        generator.errors(),
+        millis(histogram, 50),
+        millis(histogram, 99),
+        millis(histogram, 99.9),
+        histogram.getMaxValue() / 1000.0
+      );
+      csv.append(line).append('\n');
+      System.out.printf(
+        Locale.ROOT,
+        "%-14s %8.1f %9d %7d %9.2f %9.2f %9.2f %9.2f%n",
+        generator.name(),
+        generator.ratePerSecond(),
+        histogram.getTotalCount(),
+        generator.errors(),
+        millis(histogram, 50),
+        millis(histogram, 99),
+        millis(histogram, 99.9),
+        histogram.getMaxValue() / 1000.0
+      );
+      try (
+        PrintStream hgrm = new PrintStream(
+          Files.newOutputStream(out.resolve(generator.name() + ".hgrm"))
+        )
+      ) {
+        histogram.outputPercentileDistribution(hgrm, 1000.0);
+      }
+    }
+    Files.writeString(out.resolve("report.csv"), csv);
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / 1000.0;
+  }
+
+  /**
+   * Compara o resultado com o arquivo de limites. Cada chave é
+   * endpoint.métrica, com métrica p50, p99 ou p999 (em ms) ou errors (em
+   * porcentagem das requisições).
+   */
+  private void checkThresholds(List<OpenLoopGenerator> generators)
+    throws IOException {
+    String file = options.get("thresholds");
+    if (file == null) {
+      return;
+    }
+    Properties thresholds = new Properties();
+    try (InputStream in = Files.newInputStream(Path.of(file))) {
+      thresholds.load(in);
+    }
+    List<String> violations = new ArrayList<>();
+    for (OpenLoopGenerator generator : generators) {
+      Histogram histogram = generator.histogram();
+      Map<String, Double> measured = Map.of(
+        "p50",
+        millis(histogram, 50),
+        "p99",
+        millis(histogram, 99),
+        "p999",
+        millis(histogram, 99.9),
+        "errors",
+        histogram.getTotalCount() == 0
+          ? 0
+          : generator.errors() * 100.0 / histogram.getTotalCount()
+      );
+      measured.forEach((metric, value) -> {
+        String key = generator.name() + "." + metric;
+        String limit = thresholds.getProperty(key);
+        if (limit != null && value > Double.parseDouble(limit)) {
+          violations.add(
+            String.format(
+              Locale.ROOT,
+              "%s.%s = %.2f (limite %s)",
+              generator.name(),
+              metric,
+              value,
+              limit
+            )
+          );
+        }
+      });
+    }
+    if (!violations.isEmpty()) {
+      throw new IllegalStateException(
+        "Limites excedidos:\n  " + String.join("\n  ", violations)
+      );
+    }
+    System.out.println("Todos os limites de " + file + " foram respeitados.");
+  }
+}
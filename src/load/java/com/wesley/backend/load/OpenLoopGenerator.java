@@ -0,0 +1,113 @@
+package com.wesley.backend.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Gera requisições de um endpoint a uma taxa fixa, sem esperar as
+ * respostas (modelo aberto). A latência é medida a partir do instante em
+ * que a requisição deveria ter saído, e não de quando saiu, para que um
+ * servidor lento não esconda a própria lentidão atrasando o gerador
+ * (coordinated omission).
+ */
+final class OpenLoopGenerator implements Runnable {
+
+  private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final String name;
+  private final double ratePerSecond;
+  private final Supplier<HttpRequest> requests;
+  private final HttpClient client;
+  private final long startNanos;
+  private final long measureFromNanos;
+  private final long endNanos;
+
+  private final Histogram histogram = new ConcurrentHistogram(
+    MAX_LATENCY_MICROS,
+    3
+  );
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong inFlight = new AtomicLong();
+
+  OpenLoopGenerator(
+    String name,
+    double ratePerSecond,
+    Supplier<HttpRequest> requests,
+    HttpClient client,
+    long startNanos,
+    long measureFromNanos,
+    long endNanos
+  ) {
+    this.name = name;
+    this.ratePerSecond = ratePerSecond;
+    this.requests = requests;
+    this.client = client;
+    this.startNanos = startNanos;
+    this.measureFromNanos = measureFromNanos;
+    this.endNanos = endNanos;
+  }
+
+  @Override
+  public void run() {
+    long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    for (
+      long intended = startNanos;
+      intended < endNanos;
+      intended += interval
+    ) {
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      long scheduled = intended;
+      boolean measured = scheduled >= measureFromNanos;
+      inFlight.incrementAndGet();
+      client
+        .sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding())
+        .whenComplete((response, failure) -> {
+          if (measured) {
+            long micros = (System.nanoTime() - scheduled) / 1000;
+            histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (failure != null || response.statusCode() >= 300) {
+              errors.incrementAndGet();
+            }
+          }
+          inFlight.decrementAndGet();
+        });
+    }
+  }
+
+  /**
+   * Espera as requisições pendentes terminarem, até o prazo informado.
+   */
+  void awaitInFlight(long timeoutNanos) {
+    long deadline = System.nanoTime() + timeoutNanos;
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+  }
+
+  String name() {
+    return name;
+  }
+
+  double ratePerSecond() {
+    return ratePerSecond;
+  }
+
+  Histogram histogram() {
+    return histogram;
+  }
+
+  long errors() {
+    return errors.get();
+  }
+}
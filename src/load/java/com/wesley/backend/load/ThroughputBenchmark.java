@@ -0,0 +1,323 @@
+package com.wesley.backend.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Benchmark de vazão dos endpoints do TestController contra uma instância
+ * já em execução. Em modelo fechado: cada um dos N clientes envia a próxima
+ * requisição assim que recebe a anterior, durante o tempo configurado, e
+ * ao fim são impressos p50, p99, máximo e requisições por segundo de cada
+ * endpoint. Os resultados são acrescentados a um CSV com o rótulo da
+ * execução, para comparar o modo padrão com o de threads virtuais.
+ *
+ * <pre>
+ * mvn -Pload test-compile exec:java -Dexec.args="--label=platform"
+ * </pre>
+ *
+ * Opções: --url, --label, --concurrency, --duration, --warmup, --seed
+ * (quantidade de testes criados antes da medição) e --out.
+ */
+public class ThroughputBenchmark {
+
+  private final HttpClient client = HttpClient.newBuilder()
+    .connectTimeout(Duration.ofSeconds(5))
+    .build();
+
+  private final String url;
+  private final String label;
+  private final int concurrency;
+  private final Duration duration;
+  private final Duration warmup;
+  private final int seed;
+  private final Path out;
+
+  ThroughputBenchmark(Map<String, String> options) {
+    this.url = options.getOrDefault("url", "http://localhost:8181");
+    this.label = options.getOrDefault("label", "default");
+    this.concurrency = Integer.parseInt(
+      options.getOrDefault("concurrency", "64")
+    );
+    this.duration = Duration.parse(
+      "PT" + options.getOrDefault("duration", "20s")
+    );
+    this.warmup = Duration.parse("PT" + options.getOrDefault("warmup", "5s"));
+    this.seed = Integer.parseInt(options.getOrDefault("seed", "10000"));
+    this.out = Path.of(
+      options.getOrDefault("out", "target/benchmark/throughput.csv")
+    );
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+      options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+    }
+    new ThroughputBenchmark(options).run();
+  }
+
+  private void run() throws Exception {
+    seed();
+    System.out.printf(
+      Locale.ROOT,
+      "%s: %d clientes, %ss por endpoint (aquecimento %ss)%n",
+      label,
+      concurrency,
+      duration.toSeconds(),
+      warmup.toSeconds()
+    );
+    System.out.printf(
+      Locale.ROOT,
+      "%-28s %10s %10s %10s %10s %8s%n",
+      "endpoint",
+      "req/s",
+      "p50 ms",
+      "p99 ms",
+      "max ms",
+      "erros"
+    );
+    for (Map.Entry<String, Function<SplittableRandom, HttpRequest>> endpoint :
+      endpoints().entrySet()) {
+      measure(endpoint.getValue(), warmup);
+      Result result = measure(endpoint.getValue(), duration);
+      print(endpoint.getKey(), result);
+      append(endpoint.getKey(), result);
+    }
+  }
+
+  private Map<String, Function<SplittableRandom, HttpRequest>> endpoints() {
+    Map<String, Function<SplittableRandom, HttpRequest>> endpoints =
+      new LinkedHashMap<>();
+    endpoints.put("GET /v1/test", random -> get("/v1/test?page=0&size=20"));
+    endpoints.put("GET /v1/test?after=", random ->
+      get("/v1/test?after=&size=20")
+    );
+    endpoints.put("GET /v1/test/{id}", random ->
+      get("/v1/test/" + (1 + random.nextInt(Math.max(seed, 1))))
+    );
+    endpoints.put("GET /v1/test/status/{s}", random ->
+      get("/v1/test/status/em_teste?page=0&size=20")
+    );
+    endpoints.put("GET /v1/test/statistics", random ->
+      get("/v1/test/statistics")
+    );
+    endpoints.put("PUT /v1/test/update", random ->
+      json(
+        "PUT",
+        "/v1/test/update",
+        "{\"id\":" +
+        (1 + random.nextInt(Math.max(seed, 1))) +
+        ",\"nome\":\"teste" +
+        random.nextInt() +
+        "\"}"
+      )
+    );
+    return endpoints;
+  }
+
+  private Result measure(
+    Function<SplittableRandom, HttpRequest> request,
+    Duration length
+  ) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    long deadline = System.nanoTime() + length.toNanos();
+    long start = System.nanoTime();
+    try {
+      List<Future<Recorder>> workers = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        SplittableRandom random = new SplittableRandom(i);
+        workers.add(
+          executor.submit(() -> {
+            Recorder recorder = new Recorder();
+            while (System.nanoTime() < deadline) {
+              long before = System.nanoTime();
+              boolean ok = send(request.apply(random));
+              recorder.record(System.nanoTime() - before, ok);
+            }
+            return recorder;
+          })
+        );
+      }
+      Recorder total = new Recorder();
+      for (Future<Recorder> worker : workers) {
+        total.merge(worker.get());
+      }
+      return total.result(System.nanoTime() - start);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private boolean send(HttpRequest request) {
+    try {
+      int status = client
+        .send(request, HttpResponse.BodyHandlers.discarding())
+        .statusCode();
+      return status >= 200 && status < 300;
+    } catch (IOException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void seed() throws Exception {
+    int chunk = 1000;
+    for (int from = 1; from <= seed; from += chunk) {
+      StringBuilder body = new StringBuilder("[");
+      for (int id = from; id < from + chunk && id <= seed; id++) {
+        if (id > from) {
+          body.append(',');
+        }
+        body
+          .append("{\"id\":")
+          .append(id)
+          .append(",\"nome\":\"teste")
+          .append(id)
+          .append("\"}");
+      }
+      body.append(']');
+      HttpResponse<Void> response = client.send(
+        json("POST", "/v1/test/batch", body.toString()),
+        HttpResponse.BodyHandlers.discarding()
+      );
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException(
+          "Falha ao criar testes: HTTP " + response.statusCode()
+        );
+      }
+    }
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(url + path)).GET().build();
+  }
+
+  private HttpRequest json(String method, String path, String body) {
+    return HttpRequest.newBuilder(URI.create(url + path))
+      .header("Content-Type", "application/json")
+      .method(method, HttpRequest.BodyPublishers.ofString(body))
+      .build();
+  }
+
+  private void print(String endpoint, Result result) {
+    System.out.printf(
+      Locale.ROOT,
+      "%-28s %10.1f %10.2f %10.2f %10.2f %8d%n",
+      endpoint,
+      result.throughput(),
+      result.p50Millis(),
+      result.p99Millis(),
+      result.maxMillis(),
+      result.errors()
+    );
+  }
+
+  private void append(String endpoint, Result result) throws IOException {
+    Files.createDirectories(out.toAbsolutePath().getParent());
+    boolean header = Files.notExists(out);
+    String line = String.format(
+      Locale.ROOT,
+      "%s%s,%s,%d,%.1f,%.3f,%.3f,%.3f,%d%n",
+      header
+        ? "label,endpoint,concurrency,req_s,p50_ms,p99_ms,max_ms,errors\n"
+        : "",
+      label,
+      endpoint,
+      concurrency,
+      result.throughput(),
+      result.p50Millis(),
+      result.p99Millis(),
+      result.maxMillis(),
+      result.errors()
+    );
+    Files.writeString(
+      out,
+      line,
+      StandardOpenOption.CREATE,
+      StandardOpenOption.APPEND
+    );
+  }
+
+  /**
+   * Latências de um cliente, em nanossegundos.
+   */
+  private static final class Recorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean ok) {
+      if (size == latencies.length) {
+        latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = nanos;
+      if (!ok) {
+        errors++;
+      }
+    }
+
+    void merge(Recorder other) {
+      if (size + other.size > latencies.length) {
+        latencies = Arrays.copyOf(latencies, size + other.size);
+      }
+      System.arraycopy(other.latencies, 0, latencies, size, other.size);
+      size += other.size;
+      errors += other.errors;
+    }
+
+    Result result(long elapsedNanos) {
+      long[] sorted = Arrays.copyOf(latencies, size);
+      Arrays.sort(sorted);
+      return new Result(sorted, errors, elapsedNanos);
+    }
+  }
+
+  private record Result(long[] sorted, long errors, long elapsedNanos) {
+    double throughput() {
+      return sorted.length / (elapsedNanos / 1e9);
+    }
+
+    double p50Millis() {
+      return percentile(0.50);
+    }
+
+    double p99Millis() {
+      return percentile(0.99);
+    }
+
+    double maxMillis() {
+      return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6;
+    }
+
+    private double percentile(double p) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(p * sorted.length) - 1;
+      return sorted[Math.max(index, 0)] / 1e6;
+    }
+  }
+}
@@ -1,22 +1,46 @@
 package com.wesley.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wesley.backend.dto.BatchItemResultDto;
+import com.wesley.backend.dto.CacheStatsDto;
 import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.PurgeResultDto;
+import com.wesley.backend.dto.ReconcileReportDto;
 import com.wesley.backend.dto.ResponseDto;
 import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.dto.UpdateStatusBatchResultDto;
 import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusBatchDto;
 import com.wesley.backend.dto.UpdateTestStatusDto;
 import com.wesley.backend.models.Teste;
 import com.wesley.backend.service.TestService;
+import com.wesley.backend.utils.JsonEnvelopeWriter;
+import com.wesley.backend.utils.TestUtils;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,42 +51,201 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.wesley.backend.dto.ResponsePageDto;
+import com.wesley.backend.dto.ResponseSliceDto;
+import com.wesley.backend.utils.CursorUtils;
 
 @RestController
 @RequestMapping("/v1/test")
 public class TestController {
 
+  private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+  private static final String NDJSON = "application/x-ndjson";
+
   @Autowired
   private TestService testService;
 
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JsonEnvelopeWriter envelopes;
+
+  /** A partir deste tamanho, as páginas são escritas item a item. */
+  @Value("${teste.json.streaming-min-size:500}")
+  private int streamingMinSize;
+
+  /** Se false, status sem testes responde 200 com lista vazia, não 404. */
+  @Value("${teste.compat.empty-status-not-found:true}")
+  private boolean emptyStatusNotFound;
+
   /**
    * Retorna todos os testes cadastrados.
    * @return Lista de testes.
    */
   @GetMapping
-  public ResponseEntity<ResponsePageDto<Teste>> getAllTests(
+  public ResponseEntity<ResponsePageDto<TestView>> getAllTests(
     @RequestParam(defaultValue = "0") int page,
     @RequestParam(defaultValue = "10") int size,
-    @RequestParam(defaultValue = "id") String sort
-  ) {
+    @RequestParam(defaultValue = "id") String sort,
+    WebRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    if (request.checkNotModified(etag(testService.getDataVersion()))) {
+      return null;
+    }
     Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-    Page<Teste> tests = testService.findAll(pageable);
+    Page<TestView> tests = testService.findAll(pageable);
+    if (size >= streamingMinSize) {
+      return streamPage(tests, response);
+    }
     return ResponseEntity.ok(ResponsePageDto.success(tests));
   }
 
   /**
-   * Retorna testes filtrados por status.
+   * Retorna testes paginados por cursor, sem COUNT e com custo constante
+   * por página.
+   * @param after Cursor da página anterior (vazio para a primeira página).
+   * @param size Quantidade máxima de testes na página.
+   * @param sort Propriedade de ordenação: id, nome, status ou fim.
+   * @param count Se verdadeiro, inclui o total de testes na resposta.
+   * @return Testes da página e o cursor da próxima.
+   */
+  @GetMapping(params = "after")
+  public ResponseEntity<ResponseSliceDto<TestView>> getAllTestsByCursor(
+    @RequestParam String after,
+    @RequestParam(defaultValue = "10") int size,
+    @RequestParam(defaultValue = "id") String sort,
+    @RequestParam(defaultValue = "false") boolean count,
+    WebRequest request
+  ) {
+    if (request.checkNotModified(etag(testService.getDataVersion()))) {
+      return null;
+    }
+    int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    Window<TestView> tests = testService.findAll(after, pageSize, sort);
+    String nextCursor = tests.hasNext() && !tests.isEmpty()
+      ? CursorUtils.encode(
+        sort,
+        (KeysetScrollPosition) tests.positionAt(tests.size() - 1)
+      )
+      : null;
+    Long total = count ? testService.count() : null;
+    return ResponseEntity.ok(
+      ResponseSliceDto.success(tests.getContent(), nextCursor, total)
+    );
+  }
+
+  /**
+   * Retorna um teste pelo ID.
+   * @param id Identificador do teste.
+   * @return Teste encontrado.
+   */
+  @GetMapping("{id:\\d+}")
+  public ResponseEntity<ResponseDto<Teste>> getTestById(@PathVariable Long id) {
+    Teste test = testService.findById(id);
+    return ResponseEntity.ok(ResponseDto.success(test));
+  }
+
+  /**
+   * Retorna as métricas do cache de testes.
+   * @return Tamanho, acertos, faltas e remoções do cache.
+   */
+  @GetMapping("cache/stats")
+  public ResponseEntity<ResponseDto<CacheStatsDto>> getCacheStats() {
+    return ResponseEntity.ok(ResponseDto.success(testService.getCacheStats()));
+  }
+
+  /**
+   * Retorna testes filtrados por status. Os testes são escritos na resposta
+   * à medida que são lidos do banco, sem montar a lista em memória.
    * @param status Status do teste (ex: EM_TESTE, ADQUIRIDO, RETIRADO).
    * @return Lista de testes com o status informado.
    */
   @GetMapping("status/{status}")
-  public ResponseEntity<ResponseDto<Teste>> getTestsByStatus(
+  public ResponseEntity<ResponseDto<TestView>> getTestsByStatus(
+    @PathVariable String status,
+    WebRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    if (request.checkNotModified(etag(testService.getDataVersion(status)))) {
+      return null;
+    }
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    try (
+      JsonEnvelopeWriter.Envelope<TestView> envelope = envelopes.open(
+        response.getOutputStream(),
+        TestView.class
+      )
+    ) {
+      testService.streamAllByStatus(status, envelope::write);
+      // nada foi escrito ainda, então a resposta ainda pode ser um 404
+      if (emptyStatusNotFound && envelope.count() == 0) {
+        TestUtils.validateTestsNotEmpty(List.of(), status);
+      }
+      envelope.finish();
+    }
+    return null;
+  }
+
+  /**
+   * Retorna uma página de testes filtrados por status.
+   * @param status Status do teste (ex: EM_TESTE, ADQUIRIDO, RETIRADO).
+   * @return Página de testes com o status informado.
+   */
+  @GetMapping(value = "status/{status}", params = "page")
+  public ResponseEntity<ResponsePageDto<TestView>> getTestsByStatusPaged(
+    @PathVariable String status,
+    @RequestParam int page,
+    @RequestParam(defaultValue = "10") int size,
+    WebRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    if (request.checkNotModified(etag(testService.getDataVersion(status)))) {
+      return null;
+    }
+    Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+    Page<TestView> tests = testService.findAllByStatus(status, pageable);
+    if (size >= streamingMinSize) {
+      return streamPage(tests, response);
+    }
+    return ResponseEntity.ok(ResponsePageDto.success(tests));
+  }
+
+  /**
+   * Transmite os testes do status em NDJSON (um teste por linha), à medida
+   * que são lidos do banco.
+   * @param status Status do teste (ex: EM_TESTE, ADQUIRIDO, RETIRADO).
+   * @return Corpo transmitido com os testes do status.
+   */
+  @GetMapping(value = "status/{status}", produces = NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamTestsByStatus(
     @PathVariable String status
   ) {
-    List<Teste> tests = testService.findAllByStatus(status);
-    return ResponseEntity.ok(ResponseDto.success(tests));
+    TestUtils.parseStatus(status);
+    ObjectWriter writer = objectMapper
+      .writerFor(TestView.class)
+      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+        generator.setRootValueSeparator(null);
+        testService.streamAllByStatus(status, test -> {
+          try {
+            writer.writeValue(generator, test);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+    };
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(NDJSON))
+      .body(body);
   }
 
   /**
@@ -70,11 +253,51 @@ public class TestController {
    * @return Estatísticas agregadas dos testes do mês.
    */
   @GetMapping("/statistics")
-  public ResponseEntity<ResponseDto<EstatisticDto>> getStatistics() {
+  public ResponseEntity<ResponseDto<EstatisticDto>> getStatistics(
+    WebRequest request
+  ) {
+    if (request.checkNotModified(etag(testService.getStatisticsVersion()))) {
+      return null;
+    }
     EstatisticDto estatisticDto = testService.getStatistics();
     return ResponseEntity.ok(ResponseDto.success(estatisticDto));
   }
 
+  /**
+   * Retorna a série de estatísticas de um período.
+   * @param from Data inicial (inclusive).
+   * @param to Data final (inclusive).
+   * @param bucket Agrupamento da série: day, week ou month.
+   * @return Contagens e taxa de adesão por período.
+   */
+  @GetMapping(value = "/statistics", params = { "from", "to" })
+  public ResponseEntity<ResponseDto<EstatisticPeriodDto>> getStatisticsByPeriod(
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+    @RequestParam(defaultValue = "day") String bucket,
+    WebRequest request
+  ) {
+    if (request.checkNotModified(etag(testService.getStatisticsVersion()))) {
+      return null;
+    }
+    List<EstatisticPeriodDto> series = testService.getStatistics(
+      from,
+      to,
+      bucket
+    );
+    return ResponseEntity.ok(ResponseDto.success(series));
+  }
+
+  /**
+   * Recalcula os contadores de estatísticas a partir da tabela de testes.
+   * @return Relatório com as divergências corrigidas.
+   */
+  @PostMapping("/statistics/reconcile")
+  public ResponseEntity<ResponseDto<ReconcileReportDto>> reconcileStatistics() {
+    ReconcileReportDto report = testService.reconcileStatistics();
+    return ResponseEntity.ok(ResponseDto.success(report));
+  }
+
   /**
    * Cria um novo teste.
    * @param test Dados do teste a ser criado.
@@ -88,6 +311,19 @@ public class TestController {
     return ResponseEntity.ok(ResponseDto.success(List.of(createdTest)));
   }
 
+  /**
+   * Cria vários testes em uma única requisição.
+   * @param tests Dados dos testes a serem criados.
+   * @return Resultado por item: CREATED, DUPLICATE ou INVALID.
+   */
+  @PostMapping("batch")
+  public ResponseEntity<ResponseDto<BatchItemResultDto>> createTests(
+    @RequestBody List<TestDto> tests
+  ) {
+    List<BatchItemResultDto> results = testService.createTests(tests);
+    return ResponseEntity.ok(ResponseDto.success(results));
+  }
+
   /**
    * Atualiza um teste existente.
    * @param testDto Dados para atualização do teste.
@@ -114,6 +350,36 @@ public class TestController {
     return ResponseEntity.ok(ResponseDto.success(List.of(updatedTest)));
   }
 
+  /**
+   * Atualiza o status de vários testes para ADQUIRIDO ou RETIRADO.
+   * @param testsDto Ids dos testes e o novo status.
+   * @return Ids atualizados, não encontrados e rejeitados.
+   */
+  @PutMapping("update-status/batch")
+  public ResponseEntity<ResponseDto<UpdateStatusBatchResultDto>> updateTestsStatus(
+    @RequestBody UpdateTestStatusBatchDto testsDto
+  ) {
+    UpdateStatusBatchResultDto result = testService.updateTestsStatus(testsDto);
+    return ResponseEntity.ok(ResponseDto.success(result));
+  }
+
+  /**
+   * Remove em blocos os testes que atendem aos critérios informados.
+   * @param status Status dos testes a remover (opcional).
+   * @param fimBefore Remove apenas testes com fim anterior a esta data
+   * (opcional, formato ISO).
+   * @return Quantidade de testes removidos e de blocos executados.
+   */
+  @DeleteMapping
+  public ResponseEntity<ResponseDto<PurgeResultDto>> deleteTests(
+    @RequestParam(required = false) String status,
+    @RequestParam(required = false)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fimBefore
+  ) {
+    PurgeResultDto result = testService.deleteTests(status, fimBefore);
+    return ResponseEntity.ok(ResponseDto.success(result));
+  }
+
   /**
    * Remove um teste pelo ID.
    * @param id Identificador do teste a ser removido.
@@ -124,4 +390,39 @@ public class TestController {
     testService.deleteTest(id);
     return ResponseEntity.ok(ResponseDto.success(null));
   }
+
+  /**
+   * Escreve a página no formato de ResponsePageDto direto na resposta.
+   * @return null, já que o corpo foi escrito.
+   */
+  private ResponseEntity<ResponsePageDto<TestView>> streamPage(
+    Page<TestView> tests,
+    HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    try (
+      JsonEnvelopeWriter.Envelope<TestView> envelope = envelopes.open(
+        response.getOutputStream(),
+        TestView.class
+      )
+    ) {
+      tests.forEach(envelope::write);
+      envelope.finishPage(
+        tests.getNumber(),
+        tests.getSize(),
+        tests.getTotalElements(),
+        tests.getTotalPages()
+      );
+    }
+    return null;
+  }
+
+  /**
+   * ETag forte derivada da versão dos dados, calculada sem acessar o banco.
+   * Com If-None-Match igual, o checkNotModified responde 304 antes de
+   * qualquer consulta ou serialização.
+   */
+  private static String etag(String version) {
+    return "\"" + version + "\"";
+  }
 }
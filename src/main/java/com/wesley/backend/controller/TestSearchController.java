@@ -0,0 +1,41 @@
+package com.wesley.backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wesley.backend.dto.ResponseDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.service.TestSearchService;
+
+/**
+ * Busca de testes pelo nome, ignorando maiúsculas e acentos.
+ */
+@RestController
+@RequestMapping("/v1/test/search")
+public class TestSearchController {
+
+  @Autowired
+  private TestSearchService searchService;
+
+  /**
+   * Retorna os testes cujo nome começa com o termo e, em seguida, os que o
+   * contêm, do mais para o menos relevante.
+   * @param q Termo buscado.
+   * @param limit Quantidade máxima de testes (padrão 20).
+   * @return Testes encontrados, possivelmente nenhum.
+   */
+  @GetMapping
+  public ResponseEntity<ResponseDto<TestView>> search(
+    @RequestParam String q,
+    @RequestParam(defaultValue = "20") int limit
+  ) {
+    List<TestView> tests = searchService.search(q, limit);
+    return ResponseEntity.ok(ResponseDto.success(tests));
+  }
+}
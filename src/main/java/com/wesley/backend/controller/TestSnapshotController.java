@@ -0,0 +1,77 @@
+package com.wesley.backend.controller;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.ResponseDto;
+import com.wesley.backend.dto.SnapshotStatsDto;
+import com.wesley.backend.service.TestSnapshotService;
+
+/**
+ * Consultas analíticas respondidas pelo snapshot em memória, sem acessar o
+ * banco. Só existe com teste.snapshot.enabled=true.
+ */
+@RestController
+@RequestMapping("/v1/test/snapshot")
+@ConditionalOnProperty(name = "teste.snapshot.enabled", havingValue = "true")
+public class TestSnapshotController {
+
+  @Autowired
+  private TestSnapshotService snapshotService;
+
+  /**
+   * Retorna o tamanho e a memória ocupada pelo snapshot.
+   * @return Quantidade de testes, nomes distintos e bytes por teste.
+   */
+  @GetMapping
+  public ResponseEntity<ResponseDto<SnapshotStatsDto>> getStats() {
+    return ResponseEntity.ok(ResponseDto.success(snapshotService.getStats()));
+  }
+
+  /**
+   * Retorna as contagens por status dos testes com fim no período.
+   * @param from Data inicial (inclusive).
+   * @param to Data final (inclusive).
+   * @return Contagens e taxa de adesão do período.
+   */
+  @GetMapping("statistics")
+  public ResponseEntity<ResponseDto<EstatisticPeriodDto>> getStatistics(
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+  ) {
+    EstatisticPeriodDto period = snapshotService
+      .countByStatus(from, to)
+      .toPeriod(from, to);
+    return ResponseEntity.ok(ResponseDto.success(period));
+  }
+
+  /**
+   * Retorna os ids dos testes com fim no período, opcionalmente filtrados
+   * por status.
+   * @param from Data inicial (inclusive).
+   * @param to Data final (inclusive).
+   * @param status Status dos testes (opcional).
+   * @return Ids em ordem crescente.
+   */
+  @GetMapping("ids")
+  public ResponseEntity<ResponseDto<Long>> findIds(
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+    @RequestParam(required = false) String status
+  ) {
+    long[] ids = snapshotService.findIds(status, from, to);
+    List<Long> data = Arrays.stream(ids).boxed().toList();
+    return ResponseEntity.ok(ResponseDto.success(data));
+  }
+}
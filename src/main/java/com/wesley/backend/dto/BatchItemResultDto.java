@@ -0,0 +1,21 @@
+package com.wesley.backend.dto;
+
+import com.wesley.backend.enums.BatchItemStatus;
+
+public record BatchItemResultDto(Long id, BatchItemStatus status, String error) {
+  public static BatchItemResultDto created(Long id) {
+    return new BatchItemResultDto(id, BatchItemStatus.CREATED, null);
+  }
+
+  public static BatchItemResultDto duplicate(Long id) {
+    return new BatchItemResultDto(
+      id,
+      BatchItemStatus.DUPLICATE,
+      "Já existe um teste com este ID."
+    );
+  }
+
+  public static BatchItemResultDto invalid(Long id, String error) {
+    return new BatchItemResultDto(id, BatchItemStatus.INVALID, error);
+  }
+}
@@ -1,5 +1,7 @@
 package com.wesley.backend.dto;
 
+import com.wesley.backend.utils.TestUtils;
+
 public record EstatisticDto(
   Integer totalTestsByMonth,
   Integer acquired,
@@ -7,4 +9,17 @@ public record EstatisticDto(
   Double percentualAcquired,
   Double percentualWithdrawn,
   Double rateOfAcquired
-) {}
+) {
+  public static EstatisticDto of(int total, int acquired, int withdrawn) {
+    double percentualAcquired = TestUtils.percentual(acquired, total);
+    double percentualWithdrawn = TestUtils.percentual(withdrawn, total);
+    return new EstatisticDto(
+      total,
+      acquired,
+      withdrawn,
+      percentualAcquired,
+      percentualWithdrawn,
+      percentualAcquired
+    );
+  }
+}
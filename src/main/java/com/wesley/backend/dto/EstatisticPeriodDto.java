@@ -0,0 +1,34 @@
+package com.wesley.backend.dto;
+
+import java.time.LocalDate;
+
+import com.wesley.backend.utils.TestUtils;
+
+public record EstatisticPeriodDto(
+  LocalDate inicio,
+  LocalDate fim,
+  Integer total,
+  Integer acquired,
+  Integer withdrawn,
+  Integer expired,
+  Double rateOfAcquired
+) {
+  public static EstatisticPeriodDto of(
+    LocalDate inicio,
+    LocalDate fim,
+    int total,
+    int acquired,
+    int withdrawn,
+    int expired
+  ) {
+    return new EstatisticPeriodDto(
+      inicio,
+      fim,
+      total,
+      acquired,
+      withdrawn,
+      expired,
+      TestUtils.percentual(acquired, total)
+    );
+  }
+}
@@ -0,0 +1,16 @@
+package com.wesley.backend.dto;
+
+import java.time.YearMonth;
+
+import com.wesley.backend.enums.TestEnum;
+
+public record MonthStatusCountDto(
+  Integer ano,
+  Integer mes,
+  TestEnum status,
+  long total
+) {
+  public YearMonth yearMonth() {
+    return YearMonth.of(ano, mes);
+  }
+}
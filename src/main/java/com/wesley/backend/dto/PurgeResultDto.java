@@ -0,0 +1,3 @@
+package com.wesley.backend.dto;
+
+public record PurgeResultDto(long removed, int chunks) {}
@@ -0,0 +1,5 @@
+package com.wesley.backend.dto;
+
+import java.util.List;
+
+public record ReconcileReportDto(int counters, List<StatisticDriftDto> drifts) {}
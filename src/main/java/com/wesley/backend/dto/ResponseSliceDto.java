@@ -0,0 +1,38 @@
+package com.wesley.backend.dto;
+
+import java.util.List;
+
+/**
+ * Variante de ResponsePageDto para paginação por cursor: não executa COUNT
+ * e informa o cursor da próxima página. O total só é preenchido quando
+ * solicitado explicitamente.
+ */
+public record ResponseSliceDto<T>(
+  Boolean ok,
+  String error,
+  List<T> data,
+  int size,
+  boolean hasNext,
+  String nextCursor,
+  Long totalElements
+) {
+  public static <T> ResponseSliceDto<T> success(
+    List<T> data,
+    String nextCursor,
+    Long totalElements
+  ) {
+    return new ResponseSliceDto<>(
+      true,
+      null,
+      data,
+      data.size(),
+      nextCursor != null,
+      nextCursor,
+      totalElements
+    );
+  }
+
+  public static <T> ResponseSliceDto<T> error(String errorMessage) {
+    return new ResponseSliceDto<>(false, errorMessage, null, 0, false, null, null);
+  }
+}
@@ -0,0 +1,8 @@
+package com.wesley.backend.dto;
+
+public record SnapshotStatsDto(
+  long size,
+  long distinctNames,
+  long memoryBytes,
+  double bytesPerTest
+) {}
@@ -0,0 +1,12 @@
+package com.wesley.backend.dto;
+
+import java.time.YearMonth;
+
+import com.wesley.backend.enums.TestEnum;
+
+public record StatisticDriftDto(
+  YearMonth mes,
+  TestEnum status,
+  long expected,
+  long found
+) {}
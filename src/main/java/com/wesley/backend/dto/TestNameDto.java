@@ -0,0 +1,3 @@
+package com.wesley.backend.dto;
+
+public record TestNameDto(Long id, String nome) {}
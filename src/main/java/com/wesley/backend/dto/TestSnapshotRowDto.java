@@ -0,0 +1,12 @@
+package com.wesley.backend.dto;
+
+import java.time.LocalDate;
+
+import com.wesley.backend.enums.TestEnum;
+
+public record TestSnapshotRowDto(
+  Long id,
+  String nome,
+  TestEnum status,
+  LocalDate fim
+) {}
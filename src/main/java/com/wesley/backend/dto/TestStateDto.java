@@ -0,0 +1,7 @@
+package com.wesley.backend.dto;
+
+import java.time.LocalDate;
+
+import com.wesley.backend.enums.TestEnum;
+
+public record TestStateDto(Long id, TestEnum status, LocalDate fim) {}
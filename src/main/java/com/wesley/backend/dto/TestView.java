@@ -0,0 +1,18 @@
+package com.wesley.backend.dto;
+
+import java.time.LocalDate;
+
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.utils.TestUtils;
+
+/**
+ * Projeção somente leitura de um teste, montada direto do resultado da
+ * consulta, sem entidade gerenciada nem dirty checking. O status é
+ * recalculado em relação ao dia atual, como em Teste.updateStatus, para que
+ * a leitura esteja correta mesmo antes da varredura diária.
+ */
+public record TestView(Long id, String nome, TestEnum status, LocalDate fim) {
+  public TestView {
+    status = TestUtils.deriveStatus(status, fim, TestUtils.today());
+  }
+}
@@ -0,0 +1,9 @@
+package com.wesley.backend.dto;
+
+import java.util.List;
+
+public record UpdateStatusBatchResultDto(
+  List<Long> updated,
+  List<Long> notFound,
+  List<Long> rejected
+) {}
@@ -0,0 +1,7 @@
+package com.wesley.backend.dto;
+
+import java.util.List;
+
+import com.wesley.backend.enums.TestEnum;
+
+public record UpdateTestStatusBatchDto(List<Long> ids, TestEnum status) {}
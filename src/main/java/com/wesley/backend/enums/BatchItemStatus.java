@@ -0,0 +1,7 @@
+package com.wesley.backend.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+}
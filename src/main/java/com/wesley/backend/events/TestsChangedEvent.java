@@ -0,0 +1,15 @@
+package com.wesley.backend.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.wesley.backend.enums.TestEnum;
+
+/**
+ * Publicado por toda operação que altera testes. Os ouvintes reagem após o
+ * commit, quando a alteração já está visível para novas leituras.
+ * @param ids Ids dos testes inseridos, alterados ou removidos.
+ * @param statuses Status afetados, contando o anterior e o novo de cada
+ * teste.
+ */
+public record TestsChangedEvent(Collection<Long> ids, Set<TestEnum> statuses) {}
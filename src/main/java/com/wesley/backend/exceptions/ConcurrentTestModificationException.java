@@ -0,0 +1,17 @@
+package com.wesley.backend.exceptions;
+
+/**
+ * Outra operação alterou o teste no meio da escrita e as novas tentativas se
+ * esgotaram. Não é erro do cliente: a mesma requisição pode dar certo se
+ * repetida, por isso a resposta é 409, como a falha de lock otimista.
+ */
+public class ConcurrentTestModificationException extends DomainException {
+
+  /** Mensagem dos conflitos entre escritas concorrentes no mesmo teste. */
+  public static final String CONCURRENT_MODIFICATION =
+    "Teste modificado por outra operação, tente novamente.";
+
+  public ConcurrentTestModificationException() {
+    super(CONCURRENT_MODIFICATION);
+  }
+}
@@ -0,0 +1,15 @@
+package com.wesley.backend.exceptions;
+
+/**
+ * Base das exceções de domínio, lançadas para resultados esperados (status
+ * inválido, nenhum teste encontrado, lote inválido) e convertidas em
+ * respostas pelo GlobalExceptionHandler. Como ninguém lê o stack trace
+ * delas, ele não é capturado: criar a exceção custa o mesmo que criar a
+ * mensagem.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  protected DomainException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,7 @@
+package com.wesley.backend.exceptions;
+
+public class DuplicateTestException extends DomainException {
+  public DuplicateTestException(String message) {
+    super(message);
+  }
+}
@@ -1,43 +1,149 @@
 package com.wesley.backend.exceptions;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.wesley.backend.dto.ResponseDto;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+/**
+ * Converte as exceções em respostas com ResponseDto.error. Os erros de
+ * domínio se repetem com as mesmas mensagens (status inválido, nenhum teste
+ * com o status), então o corpo JSON de cada mensagem é serializado uma vez e
+ * reaproveitado como bytes, com o mesmo conteúdo que o ResponseDto geraria.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+  static final String CONFLICT = "Conflito com dados existentes.";
+
+  /** As mensagens podem conter trechos da requisição; o cache é limitado. */
+  private static final int MAX_BODIES = 1024;
+
+  private final ObjectMapper objectMapper;
+
+  private final Cache<String, byte[]> bodies = Caffeine.newBuilder()
+    .maximumSize(MAX_BODIES)
+    .build();
+
+  public GlobalExceptionHandler(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    bodies.put(CONFLICT, serialize(CONFLICT));
+    bodies.put(
+      ConcurrentTestModificationException.CONCURRENT_MODIFICATION,
+      serialize(ConcurrentTestModificationException.CONCURRENT_MODIFICATION)
+    );
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ResponseDto<Object>> handleGeneral(Exception ex) {
     return ResponseEntity.badRequest().body(ResponseDto.error(ex.getMessage()));
   }
 
   @ExceptionHandler(NotFoundException.class)
-  public ResponseEntity<ResponseDto<Object>> handleNotFound(
-    NotFoundException ex
+  public ResponseEntity<byte[]> handleNotFound(NotFoundException ex) {
+    return error(404, ex.getMessage());
+  }
+
+  @ExceptionHandler(DuplicateTestException.class)
+  public ResponseEntity<byte[]> handleDuplicateTest(DuplicateTestException ex) {
+    return error(409, ex.getMessage());
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<byte[]> handleDataIntegrityViolation(
+    DataIntegrityViolationException ex
+  ) {
+    return error(409, CONFLICT);
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<byte[]> handleOptimisticLockingFailure(
+    OptimisticLockingFailureException ex
+  ) {
+    return error(
+      409,
+      ConcurrentTestModificationException.CONCURRENT_MODIFICATION
+    );
+  }
+
+  @ExceptionHandler(ConcurrentTestModificationException.class)
+  public ResponseEntity<byte[]> handleConcurrentTestModification(
+    ConcurrentTestModificationException ex
   ) {
-    return ResponseEntity.status(404).body(ResponseDto.error(ex.getMessage()));
+    return error(409, ex.getMessage());
   }
 
   @ExceptionHandler(TestModificationException.class)
-  public ResponseEntity<ResponseDto<Object>> handleTestModification(
+  public ResponseEntity<byte[]> handleTestModification(
     TestModificationException ex
   ) {
-    return ResponseEntity.status(400).body(ResponseDto.error(ex.getMessage()));
+    return error(400, ex.getMessage());
   }
 
   @ExceptionHandler(InvalidTestStatusException.class)
-  public ResponseEntity<ResponseDto<Object>> handleInvalidTestStatus(
+  public ResponseEntity<byte[]> handleInvalidTestStatus(
     InvalidTestStatusException ex
   ) {
-    return ResponseEntity.status(400).body(ResponseDto.error(ex.getMessage()));
+    return error(400, ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidStatisticsRangeException.class)
+  public ResponseEntity<byte[]> handleInvalidStatisticsRange(
+    InvalidStatisticsRangeException ex
+  ) {
+    return error(400, ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<byte[]> handleInvalidCursor(InvalidCursorException ex) {
+    return error(400, ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidBatchException.class)
+  public ResponseEntity<byte[]> handleInvalidBatch(InvalidBatchException ex) {
+    return error(400, ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidSearchException.class)
+  public ResponseEntity<byte[]> handleInvalidSearch(InvalidSearchException ex) {
+    return error(400, ex.getMessage());
   }
 
   @ExceptionHandler(MissingTestIdOrNameException.class)
-  public ResponseEntity<ResponseDto<Object>> handleIllegalArgument(
+  public ResponseEntity<byte[]> handleIllegalArgument(
     MissingTestIdOrNameException ex
   ) {
-    return ResponseEntity.status(400).body(ResponseDto.error(ex.getMessage()));
+    return error(400, ex.getMessage());
+  }
+
+  /**
+   * @return Corpo de ResponseDto.error já serializado para a mensagem.
+   */
+  byte[] body(String message) {
+    if (message == null) {
+      return serialize(null);
+    }
+    return bodies.get(message, this::serialize);
+  }
+
+  private ResponseEntity<byte[]> error(int status, String message) {
+    return ResponseEntity.status(status)
+      .contentType(MediaType.APPLICATION_JSON)
+      .body(body(message));
+  }
+
+  private byte[] serialize(String message) {
+    try {
+      return objectMapper.writeValueAsBytes(ResponseDto.error(message));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
   }
 }
@@ -0,0 +1,7 @@
+package com.wesley.backend.exceptions;
+
+public class InvalidBatchException extends DomainException {
+  public InvalidBatchException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package com.wesley.backend.exceptions;
+
+public class InvalidCursorException extends DomainException {
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package com.wesley.backend.exceptions;
+
+public class InvalidStatisticsRangeException extends DomainException {
+  public InvalidStatisticsRangeException(String message) {
+    super(message);
+  }
+}
@@ -1,6 +1,6 @@
 package com.wesley.backend.exceptions;
 
-public class InvalidTestStatusException extends RuntimeException {
+public class InvalidTestStatusException extends DomainException {
   public InvalidTestStatusException(String message) {
     super(message);
   }
@@ -1,6 +1,6 @@
 package com.wesley.backend.exceptions;
 
-public class MissingTestIdOrNameException extends RuntimeException {
+public class MissingTestIdOrNameException extends DomainException {
   public MissingTestIdOrNameException(String message) {
     super(message);
   }
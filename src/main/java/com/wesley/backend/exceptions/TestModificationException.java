@@ -1,6 +1,6 @@
 package com.wesley.backend.exceptions;
 
-public class TestModificationException extends RuntimeException {
+public class TestModificationException extends DomainException {
 
     public TestModificationException(String message) {
         super(message);
@@ -0,0 +1,139 @@
+package com.wesley.backend.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.ResponseDto;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limita quantas requisições da API executam ao mesmo tempo. Com threads
+ * virtuais o Tomcat deixa de ter um teto natural de concorrência, e milhares
+ * de requisições disputariam as poucas conexões do pool até estourar o
+ * timeout do Hikari. Aqui elas esperam numa fila justa e, passado o tempo
+ * máximo, recebem 503 sem chegar a pedir conexão.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "teste.concurrency.max-in-flight")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private static final String BUSY =
+    "Servidor ocupado, tente novamente em instantes.";
+
+  private final Semaphore permits;
+
+  private final Duration acquireTimeout;
+
+  private final ObjectMapper objectMapper;
+
+  public ConcurrencyLimitFilter(
+    @Value("${teste.concurrency.max-in-flight}") int maxInFlight,
+    @Value("${teste.concurrency.acquire-timeout:2s}") Duration acquireTimeout,
+    ObjectMapper objectMapper
+  ) {
+    this.permits = new Semaphore(maxInFlight, true);
+    this.acquireTimeout = acquireTimeout;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith("/v1/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain filterChain
+  ) throws ServletException, IOException {
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(
+        acquireTimeout.toMillis(),
+        TimeUnit.MILLISECONDS
+      );
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      log.warn(
+        "Requisição recusada por excesso de concorrência: {}",
+        request.getRequestURI()
+      );
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      response.setHeader("Retry-After", "1");
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      objectMapper.writeValue(
+        response.getOutputStream(),
+        ResponseDto.error(BUSY)
+      );
+      return;
+    }
+    boolean async = false;
+    try {
+      filterChain.doFilter(request, response);
+      if (request.isAsyncStarted()) {
+        // respostas transmitidas seguem usando a conexão até o fim do envio
+        request.getAsyncContext().addListener(new ReleaseOnComplete());
+        async = true;
+      }
+    } finally {
+      if (!async) {
+        permits.release();
+      }
+    }
+  }
+
+  private class ReleaseOnComplete implements AsyncListener {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      release();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      release();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      release();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        permits.release();
+      }
+    }
+  }
+}
@@ -1,23 +1,33 @@
 package com.wesley.backend.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.wesley.backend.dto.TestDto;
 import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.utils.TestUtils;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Positive;
 import java.time.LocalDate;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class Teste {
+public class Teste implements Persistable<Long> {
 
   @Id
   @Positive
@@ -25,6 +35,11 @@ public class Teste {
 
   private String nome;
 
+  /** Nome em minúsculas e sem acentos, indexado para a busca por prefixo. */
+  @JsonIgnore
+  @Setter(AccessLevel.NONE)
+  private String nomeNormalizado;
+
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   @Enumerated(EnumType.STRING)
   private TestEnum status = TestEnum.EM_TESTE;
@@ -32,23 +47,58 @@ public class Teste {
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   private LocalDate fim = LocalDate.now().plusDays(4);
 
+  @Version
+  @JsonIgnore
+  private Long versao;
+
+  /**
+   * Indica se o teste ainda não foi persistido. Como o id é atribuído pelo
+   * cliente, o Spring Data não consegue deduzir isso sozinho e faria um
+   * SELECT (merge) antes de cada INSERT.
+   */
+  @Transient
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  private boolean novo = true;
+
   public Teste(TestDto test) {
     this.id = test.id();
-    this.nome = test.nome();
+    setNome(test.nome());
+  }
+
+  public void setNome(String nome) {
+    this.nome = nome;
+    this.nomeNormalizado = TestUtils.normalizeName(nome);
+  }
+
+  @Override
+  @JsonIgnore
+  public boolean isNew() {
+    return novo;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.novo = false;
+  }
+
+  /**
+   * Cópia desanexada do teste, já marcada como persistida.
+   */
+  public Teste copy() {
+    return new Teste(id, nome, nomeNormalizado, status, fim, versao, false);
   }
 
   public void updateStatus() {
-    if (status == TestEnum.ADQUIRIDO || status == TestEnum.RETIRADO) {
-      return;
-    }
-    LocalDate now = LocalDate.now();
-
-    if (fim.isBefore(now)) {
-      this.status = TestEnum.TESTE_EXPIRADO;
-    } else if (fim.isEqual(now)) {
-      this.status = TestEnum.TESTE_FINALIZADO;
-    } else {
-      this.status = TestEnum.EM_TESTE;
-    }
+    updateStatus(LocalDate.now());
+  }
+
+  /**
+   * Recalcula o status em relação à data informada, evitando uma chamada a
+   * LocalDate.now() por registro quando vários testes são processados juntos.
+   */
+  public void updateStatus(LocalDate now) {
+    this.status = TestUtils.deriveStatus(status, fim, now);
   }
 }
@@ -0,0 +1,22 @@
+package com.wesley.backend.models;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contador consolidado de testes por mês de fim e status.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TesteEstatistica {
+
+  @EmbeddedId
+  private TesteEstatisticaId id;
+
+  private long total;
+}
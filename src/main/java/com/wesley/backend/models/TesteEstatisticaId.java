@@ -0,0 +1,38 @@
+package com.wesley.backend.models;
+
+import com.wesley.backend.enums.TestEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.YearMonth;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TesteEstatisticaId implements Serializable {
+
+  /** Ano e mês do fim do teste no formato yyyyMM (ex: 202510). */
+  @Column(name = "ano_mes")
+  private Integer anoMes;
+
+  @Enumerated(EnumType.STRING)
+  private TestEnum status;
+
+  public TesteEstatisticaId(YearMonth mes, TestEnum status) {
+    this(toAnoMes(mes), status);
+  }
+
+  public YearMonth getMes() {
+    return YearMonth.of(anoMes / 100, anoMes % 100);
+  }
+
+  public static int toAnoMes(YearMonth mes) {
+    return mes.getYear() * 100 + mes.getMonthValue();
+  }
+}
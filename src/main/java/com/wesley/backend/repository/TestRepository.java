@@ -1,12 +1,266 @@
 package com.wesley.backend.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.wesley.backend.dto.DayStatusCountDto;
+import com.wesley.backend.dto.MonthStatusCountDto;
+import com.wesley.backend.dto.TestNameDto;
+import com.wesley.backend.dto.TestSnapshotRowDto;
+import com.wesley.backend.dto.TestStateDto;
+import com.wesley.backend.dto.TestView;
 import com.wesley.backend.enums.TestEnum;
 import com.wesley.backend.models.Teste;
 
 public interface TestRepository extends JpaRepository<Teste, Long> {
   List<Teste> findByStatus(TestEnum status);
+
+  /*
+   * Leituras para a API: projeções TestView montadas direto do resultado,
+   * sem entidades no contexto de persistência.
+   */
+
+  Page<TestView> findViewsBy(Pageable pageable);
+
+  Page<TestView> findViewsByStatus(TestEnum status, Pageable pageable);
+
+  /**
+   * Percorre os testes do status sob um cursor JDBC, lendo em blocos.
+   * Deve ser consumido dentro de transação.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<TestView> streamViewsByStatusOrderById(TestEnum status);
+
+  /**
+   * Página por keyset a partir da posição informada, sem COUNT. As linhas
+   * vêm com o status gravado, e não o recalculado, porque a posição da
+   * página seguinte precisa dos mesmos valores que a consulta compara.
+   */
+  Window<TestSnapshotRowDto> findRowsBy(
+    ScrollPosition position,
+    Sort sort,
+    Limit limit
+  );
+
+  /*
+   * Busca por nome. As consultas são JPQL fixas, e não derivadas do nome do
+   * método, para que o Hibernate reaproveite o plano entre as chamadas. O
+   * padrão do LIKE chega com os curingas já escapados por '\'.
+   */
+
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestView(t.id, t.nome, t.status, t.fim) " +
+    "FROM Teste t WHERE t.id IN :ids"
+  )
+  List<TestView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Testes cujo nome normalizado segue o padrão, em ordem de nome, pelo
+   * índice de nome_normalizado quando o padrão é um prefixo.
+   */
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestView(t.id, t.nome, t.status, t.fim) " +
+    "FROM Teste t WHERE t.nomeNormalizado LIKE :pattern ESCAPE '\\' " +
+    "ORDER BY t.nomeNormalizado, t.id"
+  )
+  List<TestView> findViewsByNomeLike(
+    @Param("pattern") String pattern,
+    Limit limit
+  );
+
+  /**
+   * Estado atual dos testes informados, bloqueados até o fim da transação.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestStateDto(t.id, t.status, t.fim) " +
+    "FROM Teste t WHERE t.id IN :ids"
+  )
+  List<TestStateDto> findStatesByIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Testes com os status informados e fim anterior à data, bloqueados até o
+   * fim da transação. Usado no expurgo em blocos.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestStateDto(t.id, t.status, t.fim) " +
+    "FROM Teste t WHERE t.status IN :status AND t.fim < :fimBefore ORDER BY t.id"
+  )
+  List<TestStateDto> findStatesToPurge(
+    @Param("status") Collection<TestEnum> status,
+    @Param("fimBefore") LocalDate fimBefore,
+    Pageable pageable
+  );
+
+  /**
+   * Testes com os status informados, bloqueados até o fim da transação.
+   * Usado no expurgo em blocos quando não há limite de data.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestStateDto(t.id, t.status, t.fim) " +
+    "FROM Teste t WHERE t.status IN :status ORDER BY t.id"
+  )
+  List<TestStateDto> findStatesToPurge(
+    @Param("status") Collection<TestEnum> status,
+    Pageable pageable
+  );
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query("DELETE FROM Teste t WHERE t.id IN :ids")
+  int deleteByIds(@Param("ids") Collection<Long> ids);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query("DELETE FROM Teste t WHERE t.id = :id")
+  int deleteOneById(@Param("id") Long id);
+
+  /**
+   * Ids, entre os informados, que já existem na tabela.
+   */
+  @Query("SELECT t.id FROM Teste t WHERE t.id IN :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Conta os testes por dia de fim e status no intervalo [inicio, fim),
+   * em ordem de fim, para agregação em uma única passada.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(
+    "SELECT new com.wesley.backend.dto.DayStatusCountDto(" +
+    "t.fim, t.status, COUNT(t)) " +
+    "FROM Teste t WHERE t.fim >= :inicio AND t.fim < :fim " +
+    "GROUP BY t.fim, t.status ORDER BY t.fim"
+  )
+  Stream<DayStatusCountDto> streamDailyCountsBetween(
+    @Param("inicio") LocalDate inicio,
+    @Param("fim") LocalDate fim
+  );
+
+  /**
+   * Conta os testes por mês de fim e status, base para reconciliar os
+   * contadores consolidados.
+   */
+  @Query(
+    "SELECT new com.wesley.backend.dto.MonthStatusCountDto(" +
+    "YEAR(t.fim), MONTH(t.fim), t.status, COUNT(t)) " +
+    "FROM Teste t GROUP BY YEAR(t.fim), MONTH(t.fim), t.status"
+  )
+  List<MonthStatusCountDto> countByMonthAndStatus();
+
+  /**
+   * Testes com fim anterior a hoje que ainda não estão expirados, bloqueados
+   * até o fim da transação.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestStateDto(t.id, t.status, t.fim) " +
+    "FROM Teste t " +
+    "WHERE t.fim < :hoje AND t.status NOT IN :ignorados ORDER BY t.id"
+  )
+  List<TestStateDto> findToExpire(
+    @Param("hoje") LocalDate hoje,
+    @Param("ignorados") Collection<TestEnum> ignorados,
+    Pageable pageable
+  );
+
+  /**
+   * Testes que terminam hoje e ainda não estão finalizados, bloqueados até o
+   * fim da transação.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestStateDto(t.id, t.status, t.fim) " +
+    "FROM Teste t " +
+    "WHERE t.fim = :hoje AND t.status NOT IN :ignorados ORDER BY t.id"
+  )
+  List<TestStateDto> findToFinish(
+    @Param("hoje") LocalDate hoje,
+    @Param("ignorados") Collection<TestEnum> ignorados,
+    Pageable pageable
+  );
+
+  /**
+   * Atualiza em lote o status dos ids informados, preservando os testes
+   * cujo status atual esteja entre os ignorados.
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+    "UPDATE Teste t SET t.status = :status, t.versao = t.versao + 1 " +
+    "WHERE t.id IN :ids AND t.status NOT IN :ignorados"
+  )
+  int updateStatusByIds(
+    @Param("ids") Collection<Long> ids,
+    @Param("status") TestEnum status,
+    @Param("ignorados") Collection<TestEnum> ignorados
+  );
+
+  /**
+   * Atualiza o status apenas se o teste ainda estiver na versão lida e não
+   * estiver adquirido ou retirado. Retorna 0 quando outra operação chegou
+   * antes.
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+    "UPDATE Teste t SET t.status = :status, t.versao = t.versao + 1 " +
+    "WHERE t.id = :id AND t.versao = :versao AND t.status NOT IN :finais"
+  )
+  int updateStatusIfUnchanged(
+    @Param("id") Long id,
+    @Param("status") TestEnum status,
+    @Param("versao") Long versao,
+    @Param("finais") Collection<TestEnum> finais
+  );
+
+  /**
+   * Percorre todos os testes como projeção, para montar o snapshot em
+   * memória sem carregar entidades. Deve ser consumido dentro de transação.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestSnapshotRowDto(" +
+    "t.id, t.nome, t.status, t.fim) FROM Teste t"
+  )
+  Stream<TestSnapshotRowDto> streamSnapshotRows();
+
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestSnapshotRowDto(" +
+    "t.id, t.nome, t.status, t.fim) FROM Teste t WHERE t.id IN :ids"
+  )
+  List<TestSnapshotRowDto> findSnapshotRowsByIds(
+    @Param("ids") Collection<Long> ids
+  );
+
+  /**
+   * Percorre os nomes de todos os testes, para montar o índice de busca em
+   * memória. Deve ser consumido dentro de transação.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.wesley.backend.dto.TestNameDto(t.id, t.nome) FROM Teste t")
+  Stream<TestNameDto> streamNames();
+
+  @Query(
+    "SELECT new com.wesley.backend.dto.TestNameDto(t.id, t.nome) " +
+    "FROM Teste t WHERE t.id IN :ids"
+  )
+  List<TestNameDto> findNamesByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,24 @@
+package com.wesley.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.TesteEstatistica;
+import com.wesley.backend.models.TesteEstatisticaId;
+
+public interface TestStatisticRepository
+  extends JpaRepository<TesteEstatistica, TesteEstatisticaId> {
+  @Modifying
+  @Query(
+    "UPDATE TesteEstatistica e SET e.total = e.total + :delta " +
+    "WHERE e.id.anoMes = :anoMes AND e.id.status = :status"
+  )
+  int increment(
+    @Param("anoMes") Integer anoMes,
+    @Param("status") TestEnum status,
+    @Param("delta") long delta
+  );
+}
@@ -0,0 +1,62 @@
+package com.wesley.backend.scheduler;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wesley.backend.dto.PurgeResultDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.service.TestService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remove periodicamente os testes encerrados há mais tempo que o período de
+ * retenção configurado. Desligado por padrão.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "teste.retencao.enabled", havingValue = "true")
+public class TestRetentionJob {
+
+  @Autowired
+  private TestService testService;
+
+  @Value("${teste.retencao.dias:365}")
+  private int retentionDays;
+
+  @Value("${teste.retencao.status:TESTE_EXPIRADO,ADQUIRIDO,RETIRADO}")
+  private Set<TestEnum> statuses;
+
+  @Scheduled(cron = "${teste.retencao.cron:0 30 0 * * *}")
+  public void onSchedule() {
+    purge(LocalDate.now());
+  }
+
+  /**
+   * Remove os testes com os status configurados cujo fim é anterior ao
+   * período de retenção contado a partir da data informada.
+   * @param hoje Data de referência.
+   * @return Quantidade de testes e blocos removidos.
+   */
+  public PurgeResultDto purge(LocalDate hoje) {
+    LocalDate fimBefore = hoje.minusDays(retentionDays);
+    PurgeResultDto result = testService.deleteTests(
+      EnumSet.copyOf(statuses),
+      fimBefore
+    );
+    log.info(
+      "Retenção: {} testes com fim anterior a {} removidos em {} blocos",
+      result.removed(),
+      fimBefore,
+      result.chunks()
+    );
+    return result;
+  }
+}
@@ -0,0 +1,131 @@
+package com.wesley.backend.scheduler;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesley.backend.dto.TestStateDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestStatisticsService;
+import com.wesley.backend.service.TestVersionService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persiste as transições de status por data (EM_TESTE → TESTE_FINALIZADO →
+ * TESTE_EXPIRADO) com updates em lote, para que as leituras possam confiar
+ * na coluna status sem recalcular registro a registro.
+ */
+@Slf4j
+@Component
+public class TestStatusSweeper {
+
+  @Autowired
+  private TestRepository testRepository;
+
+  @Autowired
+  private TestStatisticsService testStatisticsService;
+
+  @Autowired
+  private TestVersionService testVersionService;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Value("${teste.sweeper.chunk-size:1000}")
+  private int chunkSize;
+
+  /**
+   * Executa uma varredura ao subir a aplicação, cobrindo o período em que
+   * ela esteve fora do ar.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    sweep(LocalDate.now());
+  }
+
+  /**
+   * Executa a varredura na virada do dia e invalida as ETags, já que as
+   * estatísticas do mês dependem da data.
+   */
+  @Scheduled(cron = "${teste.sweeper.cron:0 0 0 * * *}")
+  public void onDayRollover() {
+    sweep(LocalDate.now());
+    testVersionService.bumpAll();
+  }
+
+  /**
+   * Aplica as transições devidas em relação à data informada.
+   * @param hoje Data de referência.
+   * @return Quantidade de testes atualizados.
+   */
+  public int sweep(LocalDate hoje) {
+    int expired = transition(TestEnum.TESTE_EXPIRADO, hoje);
+    int finished = transition(TestEnum.TESTE_FINALIZADO, hoje);
+    if (expired + finished > 0) {
+      log.info(
+        "Varredura de status em {}: {} expirados, {} finalizados",
+        hoje,
+        expired,
+        finished
+      );
+    }
+    return expired + finished;
+  }
+
+  private int transition(TestEnum target, LocalDate hoje) {
+    Set<TestEnum> ignored = EnumSet.of(
+      TestEnum.ADQUIRIDO,
+      TestEnum.RETIRADO,
+      target
+    );
+    int total = 0;
+    int updated;
+    do {
+      updated = transactionTemplate.execute(tx -> {
+        List<TestStateDto> due = findDue(target, hoje, ignored);
+        if (due.isEmpty()) {
+          return 0;
+        }
+        List<Long> ids = due.stream().map(TestStateDto::id).toList();
+        int rows = testRepository.updateStatusByIds(ids, target, ignored);
+        // as linhas ficam bloqueadas desde a leitura, então o lote reflete
+        // exatamente o que foi atualizado
+        testStatisticsService.moveAll(due, target);
+        Set<TestEnum> statuses = EnumSet.of(target);
+        due.forEach(state -> statuses.add(state.status()));
+        eventPublisher.publishEvent(new TestsChangedEvent(ids, statuses));
+        return rows;
+      });
+      total += updated;
+    } while (updated >= chunkSize);
+    return total;
+  }
+
+  private List<TestStateDto> findDue(
+    TestEnum target,
+    LocalDate hoje,
+    Set<TestEnum> ignored
+  ) {
+    PageRequest chunk = PageRequest.of(0, chunkSize);
+    return target == TestEnum.TESTE_EXPIRADO
+      ? testRepository.findToExpire(hoje, ignored, chunk)
+      : testRepository.findToFinish(hoje, ignored, chunk);
+  }
+}
@@ -0,0 +1,14 @@
+package com.wesley.backend.service;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import com.wesley.backend.dto.CacheStatsDto;
+import com.wesley.backend.models.Teste;
+
+public interface TestCacheService {
+  Optional<Teste> findById(Long id);
+  void evict(Collection<Long> ids);
+  void evictAll();
+  CacheStatsDto getStats();
+}
@@ -0,0 +1,10 @@
+package com.wesley.backend.service;
+
+import java.util.List;
+
+import com.wesley.backend.dto.TestView;
+
+public interface TestSearchService {
+  List<TestView> search(String q, int limit);
+  void reload();
+}
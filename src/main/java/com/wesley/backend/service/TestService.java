@@ -1,22 +1,53 @@
 package com.wesley.backend.service;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
+import com.wesley.backend.dto.BatchItemResultDto;
+import com.wesley.backend.dto.CacheStatsDto;
 import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.PurgeResultDto;
+import com.wesley.backend.dto.ReconcileReportDto;
 import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.dto.UpdateStatusBatchResultDto;
 import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusBatchDto;
 import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.TestEnum;
 import com.wesley.backend.models.Teste;
 
 public interface TestService {
-  Page<Teste> findAll(Pageable pageable);
-  List<Teste> findAllByStatus(String status);
+  Page<TestView> findAll(Pageable pageable);
+  Window<TestView> findAll(String after, int size, String sort);
+  Teste findById(Long id);
+  long count();
+  Page<TestView> findAllByStatus(String status, Pageable pageable);
+  void streamAllByStatus(String status, Consumer<TestView> consumer);
   Teste createTest(TestDto test);
+  List<BatchItemResultDto> createTests(List<TestDto> tests);
   Teste updateTest(UpdateTestDto test);
   Teste updateTestStatus(UpdateTestStatusDto testStatusDto);
+  UpdateStatusBatchResultDto updateTestsStatus(UpdateTestStatusBatchDto testsDto);
   void deleteTest(Long id);
+  PurgeResultDto deleteTests(String status, LocalDate fimBefore);
+  PurgeResultDto deleteTests(Collection<TestEnum> status, LocalDate fimBefore);
   EstatisticDto getStatistics();
+  List<EstatisticPeriodDto> getStatistics(
+    LocalDate from,
+    LocalDate to,
+    String bucket
+  );
+  ReconcileReportDto reconcileStatistics();
+  CacheStatsDto getCacheStats();
+  String getDataVersion();
+  String getDataVersion(String status);
+  String getStatisticsVersion();
 }
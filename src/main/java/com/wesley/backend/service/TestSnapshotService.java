@@ -0,0 +1,20 @@
+package com.wesley.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.SnapshotStatsDto;
+import com.wesley.backend.dto.TestSnapshotRowDto;
+import com.wesley.backend.utils.StatusCounts;
+
+public interface TestSnapshotService {
+  void reload();
+  Optional<TestSnapshotRowDto> findById(Long id);
+  StatusCounts countByStatus();
+  StatusCounts countByStatus(LocalDate from, LocalDate to);
+  EstatisticDto getStatistics(YearMonth mes);
+  long[] findIds(String status, LocalDate from, LocalDate to);
+  SnapshotStatsDto getStats();
+}
@@ -0,0 +1,34 @@
+package com.wesley.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.ReconcileReportDto;
+import com.wesley.backend.dto.TestStateDto;
+import com.wesley.backend.enums.StatisticBucket;
+import com.wesley.backend.enums.TestEnum;
+
+public interface TestStatisticsService {
+  void adjust(YearMonth mes, TestEnum status, long delta);
+  void increment(LocalDate fim, TestEnum status);
+  void decrement(LocalDate fim, TestEnum status);
+  void move(
+    LocalDate fimAnterior,
+    TestEnum statusAnterior,
+    LocalDate fim,
+    TestEnum status
+  );
+  void moveAll(List<TestStateDto> tests, TestEnum status);
+  void removeAll(List<TestStateDto> tests);
+  long count(YearMonth mes, TestEnum status);
+  EstatisticDto getStatistics(YearMonth mes);
+  List<EstatisticPeriodDto> getStatistics(
+    LocalDate from,
+    LocalDate to,
+    StatisticBucket bucket
+  );
+  ReconcileReportDto reconcile();
+}
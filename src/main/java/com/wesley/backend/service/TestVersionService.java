@@ -0,0 +1,9 @@
+package com.wesley.backend.service;
+
+import com.wesley.backend.enums.TestEnum;
+
+public interface TestVersionService {
+  String getVersion();
+  String getVersion(TestEnum status);
+  void bumpAll();
+}
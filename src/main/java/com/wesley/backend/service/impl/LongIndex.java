@@ -0,0 +1,119 @@
+package com.wesley.backend.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de id (long) para posição (int) com endereçamento aberto e sondagem
+ * linear, sem objetos por entrada. A remoção desloca as entradas seguintes
+ * para trás, então não há marcadores de removido e a busca para na primeira
+ * posição vazia. Não é thread-safe.
+ */
+final class LongIndex {
+
+  private static final int EMPTY = -1;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+
+  LongIndex(int expected) {
+    int capacity = Integer.highestOneBit(Math.max(8, expected)) << 2;
+    allocate(capacity);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return Posição associada ao id, ou -1 se o id não estiver no mapa.
+   */
+  int get(long key) {
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      int value = values[slot];
+      if (value == EMPTY || keys[slot] == key) {
+        return value;
+      }
+    }
+  }
+
+  void put(long key, int value) {
+    if ((size + 1) * 2 > keys.length) {
+      rehash(keys.length * 2);
+    }
+    int slot = slot(key);
+    while (values[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+  }
+
+  /**
+   * @return Posição que estava associada ao id, ou -1 se ele não existia.
+   */
+  int remove(long key) {
+    int slot = slot(key);
+    while (values[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    int removed = values[slot];
+    if (removed == EMPTY) {
+      return EMPTY;
+    }
+    // traz para o buraco as entradas cuja posição ideal fica antes dele
+    int hole = slot;
+    for (
+      int next = (hole + 1) & mask;
+      values[next] != EMPTY;
+      next = (next + 1) & mask
+    ) {
+      int ideal = slot(keys[next]);
+      if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    values[hole] = EMPTY;
+    size--;
+    return removed;
+  }
+
+  /**
+   * @return Bytes ocupados pelos arrays do mapa.
+   */
+  long memoryBytes() {
+    return (long) keys.length * (Long.BYTES + Integer.BYTES);
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    Arrays.fill(values, EMPTY);
+    mask = capacity - 1;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != EMPTY) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.wesley.backend.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+
+/**
+ * Expiração das entradas do cache de testes. Além do TTL, um teste EM_TESTE
+ * expira no início do dia do fim (quando passa a TESTE_FINALIZADO) e um
+ * TESTE_FINALIZADO no início do dia seguinte (quando passa a
+ * TESTE_EXPIRADO), para que o cache nunca sirva um status vencido.
+ */
+class TestCacheExpiry implements Expiry<Long, Teste> {
+
+  private final Duration ttl;
+
+  private final Clock clock;
+
+  TestCacheExpiry(Duration ttl, Clock clock) {
+    this.ttl = ttl;
+    this.clock = clock;
+  }
+
+  @Override
+  public long expireAfterCreate(Long id, Teste test, long currentTime) {
+    return expiration(test).toNanos();
+  }
+
+  @Override
+  public long expireAfterUpdate(
+    Long id,
+    Teste test,
+    long currentTime,
+    long currentDuration
+  ) {
+    return expiration(test).toNanos();
+  }
+
+  @Override
+  public long expireAfterRead(
+    Long id,
+    Teste test,
+    long currentTime,
+    long currentDuration
+  ) {
+    return currentDuration;
+  }
+
+  Duration expiration(Teste test) {
+    LocalDate transition = nextTransition(test);
+    if (transition == null) {
+      return ttl;
+    }
+    Instant now = clock.instant();
+    Instant at = transition.atStartOfDay(clock.getZone()).toInstant();
+    if (!at.isAfter(now)) {
+      return Duration.ZERO;
+    }
+    Duration untilTransition = Duration.between(now, at);
+    return untilTransition.compareTo(ttl) < 0 ? untilTransition : ttl;
+  }
+
+  private LocalDate nextTransition(Teste test) {
+    if (test.getStatus() == TestEnum.EM_TESTE) {
+      return test.getFim();
+    }
+    if (test.getStatus() == TestEnum.TESTE_FINALIZADO) {
+      return test.getFim().plusDays(1);
+    }
+    return null;
+  }
+}
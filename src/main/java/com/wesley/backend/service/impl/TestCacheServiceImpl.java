@@ -0,0 +1,136 @@
+package com.wesley.backend.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wesley.backend.dto.CacheStatsDto;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestCacheService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache limitado por tamanho e tempo na frente de TestRepository.findById.
+ * Guarda e devolve cópias desanexadas, para que alterações feitas por quem
+ * chamou não vazem para o cache nem para o contexto de persistência. As
+ * entradas são removidas por qualquer operação de escrita, na hora e de novo
+ * após o commit.
+ */
+@Service
+public class TestCacheServiceImpl implements TestCacheService {
+
+  @Autowired
+  private TestRepository testRepository;
+
+  private final Cache<Long, Teste> cache;
+
+  public TestCacheServiceImpl(
+    @Value("${teste.cache.max-size:10000}") long maxSize,
+    @Value("${teste.cache.ttl:10m}") Duration ttl,
+    MeterRegistry meterRegistry
+  ) {
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfter(new TestCacheExpiry(ttl, Clock.systemDefaultZone()))
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "teste");
+  }
+
+  /**
+   * Busca o teste no cache, carregando do banco na falta. Ids inexistentes
+   * não são guardados.
+   */
+  @Override
+  public Optional<Teste> findById(Long id) {
+    Teste cached = cache.get(id, this::load);
+    return Optional.ofNullable(cached).map(Teste::copy);
+  }
+
+  private Teste load(Long id) {
+    Teste test = testRepository.findById(id).map(Teste::copy).orElse(null);
+    if (test != null) {
+      evictOnRollback(id);
+    }
+    return test;
+  }
+
+  /**
+   * Dentro de uma transação a leitura pode enxergar alterações ainda não
+   * confirmadas; se a transação não for confirmada, a entrada é descartada.
+   */
+  private void evictOnRollback(Long id) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status != STATUS_COMMITTED) {
+            cache.invalidate(id);
+          }
+        }
+      }
+    );
+  }
+
+  @Override
+  public void evict(Collection<Long> ids) {
+    cache.invalidateAll(ids);
+  }
+
+  @Override
+  public void evictAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public CacheStatsDto getStats() {
+    CacheStats stats = cache.stats();
+    return new CacheStatsDto(
+      cache.estimatedSize(),
+      stats.hitCount(),
+      stats.missCount(),
+      stats.hitRate(),
+      stats.evictionCount(),
+      stats.loadCount()
+    );
+  }
+
+  /**
+   * Remove do cache os testes alterados já durante a transação, para que
+   * leituras seguintes na mesma transação vejam a alteração.
+   */
+  @EventListener
+  public void onTestsChanged(TestsChangedEvent event) {
+    evict(event.ids());
+  }
+
+  /**
+   * Remove de novo após o commit, descartando o que outras requisições
+   * tenham carregado do banco enquanto a transação ainda não estava
+   * confirmada.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onTestsChangedCommitted(TestsChangedEvent event) {
+    evict(event.ids());
+  }
+}
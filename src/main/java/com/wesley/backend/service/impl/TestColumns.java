@@ -0,0 +1,201 @@
+package com.wesley.backend.service.impl;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.wesley.backend.dto.TestSnapshotRowDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.utils.StatusCounts;
+
+/**
+ * Testes guardados em colunas primitivas paralelas: id, fim em dias desde
+ * a época, ordinal do status e código do nome num dicionário compartilhado.
+ * As consultas são laços sobre arrays, sem objetos por teste. Um id é
+ * localizado pelo LongIndex; remover troca o último teste para a posição
+ * removida, mantendo as colunas contíguas. Não é thread-safe.
+ */
+final class TestColumns {
+
+  private static final TestEnum[] STATUSES = TestEnum.values();
+
+  private long[] ids;
+  private int[] fims;
+  private byte[] statuses;
+  private int[] names;
+  private int size;
+
+  private final LongIndex index;
+
+  private String[] dictionary = new String[16];
+  private int dictionarySize;
+  private final Map<String, Integer> codes = new HashMap<>();
+
+  TestColumns(int expected) {
+    int capacity = Math.max(16, expected);
+    ids = new long[capacity];
+    fims = new int[capacity];
+    statuses = new byte[capacity];
+    names = new int[capacity];
+    index = new LongIndex(capacity);
+  }
+
+  int size() {
+    return size;
+  }
+
+  int dictionarySize() {
+    return dictionarySize;
+  }
+
+  /**
+   * Insere o teste ou, se o id já existir, substitui os seus valores.
+   */
+  void put(TestSnapshotRowDto row) {
+    int position = index.get(row.id());
+    if (position < 0) {
+      if (size == ids.length) {
+        grow();
+      }
+      position = size++;
+      ids[position] = row.id();
+      index.put(row.id(), position);
+    }
+    fims[position] = (int) row.fim().toEpochDay();
+    statuses[position] = (byte) row.status().ordinal();
+    names[position] = code(row.nome());
+  }
+
+  /**
+   * @return true se o teste existia e foi removido.
+   */
+  boolean remove(long id) {
+    int position = index.remove(id);
+    if (position < 0) {
+      return false;
+    }
+    int last = --size;
+    if (position != last) {
+      ids[position] = ids[last];
+      fims[position] = fims[last];
+      statuses[position] = statuses[last];
+      names[position] = names[last];
+      index.put(ids[position], position);
+    }
+    return true;
+  }
+
+  /**
+   * @return O teste com o id informado, ou null se não existir.
+   */
+  TestSnapshotRowDto get(long id) {
+    int position = index.get(id);
+    if (position < 0) {
+      return null;
+    }
+    return new TestSnapshotRowDto(
+      id,
+      dictionary[names[position]],
+      STATUSES[statuses[position]],
+      LocalDate.ofEpochDay(fims[position])
+    );
+  }
+
+  /**
+   * Conta os testes de cada status com fim entre as datas (inclusive).
+   */
+  StatusCounts countByStatus(LocalDate from, LocalDate to) {
+    int first = (int) from.toEpochDay();
+    int last = (int) to.toEpochDay();
+    long[] counts = new long[STATUSES.length];
+    for (int i = 0; i < size; i++) {
+      int fim = fims[i];
+      if (fim >= first && fim <= last) {
+        counts[statuses[i]]++;
+      }
+    }
+    return toStatusCounts(counts);
+  }
+
+  /**
+   * Conta os testes de cada status, sem filtro de data.
+   */
+  StatusCounts countByStatus() {
+    long[] counts = new long[STATUSES.length];
+    for (int i = 0; i < size; i++) {
+      counts[statuses[i]]++;
+    }
+    return toStatusCounts(counts);
+  }
+
+  /**
+   * Ids dos testes com o status informado (ou de todos, se for null) e fim
+   * entre as datas (inclusive), em ordem crescente.
+   */
+  long[] findIds(TestEnum status, LocalDate from, LocalDate to) {
+    int first = (int) from.toEpochDay();
+    int last = (int) to.toEpochDay();
+    int ordinal = status == null ? -1 : status.ordinal();
+    long[] found = new long[16];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int fim = fims[i];
+      if (
+        fim >= first && fim <= last && (ordinal < 0 || statuses[i] == ordinal)
+      ) {
+        if (count == found.length) {
+          found = Arrays.copyOf(found, count * 2);
+        }
+        found[count++] = ids[i];
+      }
+    }
+    long[] result = Arrays.copyOf(found, count);
+    Arrays.sort(result);
+    return result;
+  }
+
+  /**
+   * Estimativa dos bytes ocupados: colunas, índice e dicionário de nomes.
+   */
+  long memoryBytes() {
+    long columns = (long) ids.length *
+      (Long.BYTES + Integer.BYTES + Byte.BYTES + Integer.BYTES);
+    long names = 0;
+    for (int i = 0; i < dictionarySize; i++) {
+      // cabeçalho da String e do array de bytes, mais a entrada no mapa
+      String nome = dictionary[i];
+      names += 56 + (nome == null ? 0 : nome.length()) + 32;
+    }
+    return columns + index.memoryBytes() + names;
+  }
+
+  private int code(String nome) {
+    Integer code = codes.get(nome);
+    if (code != null) {
+      return code;
+    }
+    if (dictionarySize == dictionary.length) {
+      dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+    }
+    dictionary[dictionarySize] = nome;
+    codes.put(nome, dictionarySize);
+    return dictionarySize++;
+  }
+
+  private void grow() {
+    int capacity = ids.length + (ids.length >> 1);
+    ids = Arrays.copyOf(ids, capacity);
+    fims = Arrays.copyOf(fims, capacity);
+    statuses = Arrays.copyOf(statuses, capacity);
+    names = Arrays.copyOf(names, capacity);
+  }
+
+  private static StatusCounts toStatusCounts(long[] counts) {
+    StatusCounts result = new StatusCounts();
+    for (TestEnum status : STATUSES) {
+      result.add(status, counts[status.ordinal()]);
+    }
+    return result;
+  }
+}
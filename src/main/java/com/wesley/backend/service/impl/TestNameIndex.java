@@ -0,0 +1,255 @@
+package com.wesley.backend.service.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Índice de trigramas dos nomes normalizados, para a busca por trecho. Cada
+ * teste ocupa uma posição, e cada trigrama guarda as posições dos nomes que
+ * o contêm, em ordem crescente. A busca percorre só a menor lista entre os
+ * trigramas do trecho e confirma cada candidato com indexOf.
+ * <p>
+ * Posições não são reaproveitadas: remover ou renomear um teste só esvazia a
+ * posição antiga, e as listas são reconstruídas quando as posições vazias
+ * passam das ocupadas. Assim uma posição aparece no máximo uma vez em cada
+ * lista. Não é thread-safe.
+ */
+final class TestNameIndex {
+
+  /** Tamanho dos trechos indexados; buscas menores não usam o índice. */
+  static final int GRAM = 3;
+
+  private static final int MIN_COMPACT = 1024;
+
+  private long[] ids;
+  private String[] names;
+  private int slots;
+  private int size;
+
+  private LongIndex index;
+
+  private Map<Long, Postings> postings;
+
+  TestNameIndex(int expected) {
+    allocate(Math.max(16, expected));
+  }
+
+  int size() {
+    return size;
+  }
+
+  int trigrams() {
+    return postings.size();
+  }
+
+  /**
+   * Insere o teste ou, se o id já existir com outro nome, o renomeia.
+   * @param nome Nome já normalizado.
+   */
+  void put(long id, String nome) {
+    int slot = index.get(id);
+    if (slot >= 0) {
+      if (nome.equals(names[slot])) {
+        return;
+      }
+      clear(id, slot);
+    }
+    add(id, nome);
+    compactIfNeeded();
+  }
+
+  /**
+   * @return true se o teste existia e foi removido.
+   */
+  boolean remove(long id) {
+    int slot = index.get(id);
+    if (slot < 0) {
+      return false;
+    }
+    clear(id, slot);
+    compactIfNeeded();
+    return true;
+  }
+
+  /**
+   * Ids dos testes cujo nome contém o trecho depois do primeiro caractere
+   * (os que começam com ele vêm do índice do banco), do melhor para o pior:
+   * trecho no início de uma palavra, mais perto do começo do nome, nome
+   * mais curto e, por fim, menor id.
+   * @param trecho Trecho normalizado, com ao menos GRAM caracteres.
+   * @param limit Quantidade máxima de ids.
+   */
+  long[] search(String trecho, int limit) {
+    Postings candidates = null;
+    for (int i = 0; i + GRAM <= trecho.length(); i++) {
+      Postings list = postings.get(trigram(trecho, i));
+      if (list == null) {
+        return new long[0];
+      }
+      if (candidates == null || list.size < candidates.size) {
+        candidates = list;
+      }
+    }
+    if (candidates == null || limit <= 0) {
+      return new long[0];
+    }
+
+    PriorityQueue<Match> best = new PriorityQueue<>(limit + 1);
+    for (int i = 0; i < candidates.size; i++) {
+      int slot = candidates.slots[i];
+      String nome = names[slot];
+      if (nome == null) {
+        continue;
+      }
+      int position = nome.indexOf(trecho);
+      if (position <= 0) {
+        continue;
+      }
+      boolean wordStart = nome.charAt(position - 1) == ' ';
+      if (
+        best.size() == limit &&
+        compare(best.peek(), wordStart, position, nome.length(), ids[slot]) <= 0
+      ) {
+        continue;
+      }
+      best.add(new Match(ids[slot], wordStart, position, nome.length()));
+      if (best.size() > limit) {
+        best.poll();
+      }
+    }
+
+    // a fila guarda o pior no topo; o resultado vai do melhor para o pior
+    long[] result = new long[best.size()];
+    for (int i = result.length - 1; i >= 0; i--) {
+      result[i] = best.poll().id();
+    }
+    return result;
+  }
+
+  /**
+   * Estimativa dos bytes ocupados: posições, nomes, índice de ids e listas
+   * de trigramas.
+   */
+  long memoryBytes() {
+    long bytes = (long) ids.length * (Long.BYTES + 4) + index.memoryBytes();
+    for (int i = 0; i < slots; i++) {
+      String nome = names[i];
+      if (nome != null) {
+        // cabeçalho da String e do array de bytes
+        bytes += 40 + nome.length();
+      }
+    }
+    for (Postings list : postings.values()) {
+      // entrada no mapa, Long da chave, objeto da lista e array
+      bytes += 32 + 16 + 24 + 16 + (long) list.slots.length * Integer.BYTES;
+    }
+    return bytes;
+  }
+
+  private void add(long id, String nome) {
+    if (slots == ids.length) {
+      int capacity = ids.length + (ids.length >> 1);
+      ids = Arrays.copyOf(ids, capacity);
+      names = Arrays.copyOf(names, capacity);
+    }
+    int slot = slots++;
+    ids[slot] = id;
+    names[slot] = nome;
+    index.put(id, slot);
+    size++;
+    for (int i = 0; i + GRAM <= nome.length(); i++) {
+      postings.computeIfAbsent(trigram(nome, i), key -> new Postings()).add(slot);
+    }
+  }
+
+  private void clear(long id, int slot) {
+    names[slot] = null;
+    index.remove(id);
+    size--;
+  }
+
+  private void compactIfNeeded() {
+    int empty = slots - size;
+    if (empty < MIN_COMPACT || empty <= size) {
+      return;
+    }
+    long[] oldIds = ids;
+    String[] oldNames = names;
+    int oldSlots = slots;
+    allocate(Math.max(16, size + (size >> 1)));
+    for (int i = 0; i < oldSlots; i++) {
+      if (oldNames[i] != null) {
+        add(oldIds[i], oldNames[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    ids = new long[capacity];
+    names = new String[capacity];
+    slots = 0;
+    size = 0;
+    index = new LongIndex(capacity);
+    postings = new HashMap<>();
+  }
+
+  private static long trigram(String text, int start) {
+    return (
+      ((long) text.charAt(start) << 32) |
+      ((long) text.charAt(start + 1) << 16) |
+      text.charAt(start + 2)
+    );
+  }
+
+  /**
+   * Compara um resultado já escolhido com um candidato; positivo se o
+   * candidato for melhor.
+   */
+  private static int compare(
+    Match chosen,
+    boolean wordStart,
+    int position,
+    int length,
+    long id
+  ) {
+    int result = Boolean.compare(wordStart, chosen.wordStart());
+    if (result == 0) {
+      result = Integer.compare(chosen.position(), position);
+    }
+    if (result == 0) {
+      result = Integer.compare(chosen.length(), length);
+    }
+    if (result == 0) {
+      result = Long.compare(chosen.id(), id);
+    }
+    return result;
+  }
+
+  /** Resultado da busca; a ordem natural vai do pior para o melhor. */
+  private record Match(long id, boolean wordStart, int position, int length)
+    implements Comparable<Match> {
+    @Override
+    public int compareTo(Match other) {
+      return compare(other, wordStart, position, length, id);
+    }
+  }
+
+  /** Posições em ordem crescente, sem repetição. */
+  private static final class Postings {
+
+    private int[] slots = new int[4];
+    private int size;
+
+    void add(int slot) {
+      if (size > 0 && slots[size - 1] == slot) {
+        return;
+      }
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      slots[size++] = slot;
+    }
+  }
+}
@@ -0,0 +1,346 @@
+package com.wesley.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesley.backend.dto.TestNameDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.exceptions.InvalidSearchException;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestSearchService;
+import com.wesley.backend.utils.TestUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Busca de testes pelo nome. Os nomes que começam com o termo vêm do banco,
+ * pelo índice de nome_normalizado, em ordem alfabética; se não bastarem,
+ * o restante vem dos nomes que contêm o termo, achados no índice de
+ * trigramas em memória (TestNameIndex) e completados com uma consulta por
+ * id. Termos com menos de três caracteres só buscam por prefixo.
+ * <p>
+ * O índice em memória é carregado ao subir a aplicação e acompanha as
+ * escritas pelos TestsChangedEvent: os ids alterados são relidos do banco
+ * após o commit, numa thread própria. Assim a escrita não paga a releitura
+ * nem espera pelas demais, e o índice fica alguns instantes atrás do banco;
+ * como os resultados vêm sempre do banco, um teste removido nesse intervalo
+ * não aparece, mas um renomeado pode ainda ser achado pelo nome anterior.
+ * Com teste.search.index.enabled=false, a busca por trecho varre a tabela.
+ */
+@Slf4j
+@Service
+public class TestSearchServiceImpl implements TestSearchService {
+
+  @Autowired
+  private TestRepository testRepository;
+
+  @Value("${teste.batch.chunk-size:1000}")
+  private int chunkSize;
+
+  @Value("${teste.search.max-limit:100}")
+  private int maxLimit;
+
+  @Value("${teste.search.index.enabled:true}")
+  private boolean indexEnabled;
+
+  private final TransactionTemplate readTransaction;
+
+  private final StampedLock lock = new StampedLock();
+
+  private final ReentrantLock refreshing = new ReentrantLock();
+
+  private TestNameIndex names = new TestNameIndex(0);
+
+  /** Ids alterados durante uma recarga completa, aplicados ao final dela. */
+  private Set<Long> pending;
+
+  /** Ids alterados ainda não relidos pela thread de atualização. */
+  private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+    task -> {
+      Thread thread = new Thread(task, "search-index-refresh");
+      thread.setDaemon(true);
+      return thread;
+    }
+  );
+
+  public TestSearchServiceImpl(PlatformTransactionManager transactionManager) {
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setPropagationBehavior(
+      TransactionDefinition.PROPAGATION_REQUIRES_NEW
+    );
+    this.readTransaction.setReadOnly(true);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    if (indexEnabled) {
+      reload();
+    }
+  }
+
+  /**
+   * Busca testes cujo nome começa com o termo ou o contém, ignorando
+   * maiúsculas e acentos.
+   * @param q Termo buscado.
+   * @param limit Quantidade máxima de testes, até teste.search.max-limit.
+   * @return Testes do mais para o menos relevante.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<TestView> search(String q, int limit) {
+    String term = TestUtils.normalizeName(q);
+    if (term == null || term.isEmpty()) {
+      throw new InvalidSearchException("Informe o termo de busca.");
+    }
+    if (limit < 1 || limit > maxLimit) {
+      throw new InvalidSearchException(
+        "O limite da busca deve estar entre 1 e " + maxLimit + "."
+      );
+    }
+
+    String escaped = escapeLike(term);
+    List<TestView> found = testRepository.findViewsByNomeLike(
+      escaped + "%",
+      Limit.of(limit)
+    );
+    if (found.size() == limit || term.length() < TestNameIndex.GRAM) {
+      return found;
+    }
+
+    Map<Long, TestView> results = new LinkedHashMap<>();
+    found.forEach(test -> results.put(test.id(), test));
+    List<TestView> inner = indexEnabled
+      ? findByIndex(term, limit - found.size())
+      : testRepository.findViewsByNomeLike(
+        "%" + escaped + "%",
+        Limit.of(limit + found.size())
+      );
+    for (TestView test : inner) {
+      if (results.size() == limit) {
+        break;
+      }
+      results.putIfAbsent(test.id(), test);
+    }
+    return new ArrayList<>(results.values());
+  }
+
+  /**
+   * Monta um índice novo a partir da tabela de testes e o troca pelo atual.
+   * As alterações confirmadas durante a leitura são reaplicadas em seguida.
+   */
+  @Override
+  public void reload() {
+    refreshing.lock();
+    try {
+      pending = new HashSet<>();
+    } finally {
+      refreshing.unlock();
+    }
+
+    long start = System.nanoTime();
+    TestNameIndex loaded = readTransaction.execute(tx -> {
+      TestNameIndex fresh = new TestNameIndex((int) testRepository.count());
+      try (Stream<TestNameDto> rows = testRepository.streamNames()) {
+        rows.forEach(row -> put(fresh, row));
+      }
+      return fresh;
+    });
+
+    refreshing.lock();
+    try {
+      long stamp = lock.writeLock();
+      try {
+        names = loaded;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+      Set<Long> changed = pending;
+      pending = null;
+      refresh(changed);
+    } finally {
+      refreshing.unlock();
+    }
+    log.info(
+      "Índice de nomes carregado: {} testes, {} trigramas, {} bytes, em {} ms",
+      loaded.size(),
+      loaded.trigrams(),
+      loaded.memoryBytes(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  @TransactionalEventListener(
+    phase = TransactionPhase.AFTER_COMMIT,
+    fallbackExecution = true
+  )
+  public void onTestsChanged(TestsChangedEvent event) {
+    if (!indexEnabled) {
+      return;
+    }
+    changed.addAll(event.ids());
+    if (scheduled.compareAndSet(false, true)) {
+      refresher.execute(this::drain);
+    }
+  }
+
+  /**
+   * Espera a thread de atualização aplicar as alterações já recebidas.
+   */
+  public void awaitRefresh() {
+    try {
+      refresher.submit(() -> {}).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  // Métodos utilitários privados
+
+  /**
+   * Relê de uma vez os ids acumulados. A marca é limpa antes de esvaziar o
+   * conjunto, então um id que chegue no meio agenda outra passada.
+   */
+  private void drain() {
+    scheduled.set(false);
+    List<Long> ids = new ArrayList<>();
+    for (Iterator<Long> it = changed.iterator(); it.hasNext();) {
+      ids.add(it.next());
+      it.remove();
+    }
+    if (ids.isEmpty()) {
+      return;
+    }
+    refreshing.lock();
+    try {
+      if (pending != null) {
+        pending.addAll(ids);
+      } else {
+        refresh(ids);
+      }
+    } catch (RuntimeException e) {
+      log.warn(
+        "Falha ao atualizar o índice de nomes para {} testes",
+        ids.size(),
+        e
+      );
+    } finally {
+      refreshing.unlock();
+    }
+  }
+
+  private List<TestView> findByIndex(String term, int limit) {
+    long stamp = lock.readLock();
+    long[] ids;
+    try {
+      ids = names.search(term, limit);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    if (ids.length == 0) {
+      return List.of();
+    }
+    List<Long> ranked = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      ranked.add(id);
+    }
+    Map<Long, TestView> views = new HashMap<>();
+    for (TestView view : testRepository.findViewsByIds(ranked)) {
+      views.put(view.id(), view);
+    }
+    List<TestView> result = new ArrayList<>(ids.length);
+    for (Long id : ranked) {
+      TestView view = views.get(id);
+      // removido depois da busca no índice
+      if (view != null) {
+        result.add(view);
+      }
+    }
+    return result;
+  }
+
+  private void refresh(Collection<Long> ids) {
+    List<Long> all = new ArrayList<>(ids);
+    for (int from = 0; from < all.size(); from += chunkSize) {
+      List<Long> chunk = all.subList(
+        from,
+        Math.min(from + chunkSize, all.size())
+      );
+      Map<Long, TestNameDto> rows = new HashMap<>();
+      readTransaction.executeWithoutResult(tx -> {
+        for (TestNameDto row : testRepository.findNamesByIds(chunk)) {
+          rows.put(row.id(), row);
+        }
+      });
+      long stamp = lock.writeLock();
+      try {
+        for (Long id : chunk) {
+          TestNameDto row = rows.get(id);
+          if (row == null) {
+            names.remove(id);
+          } else {
+            put(names, row);
+          }
+        }
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+  }
+
+  private static String escapeLike(String term) {
+    return term
+      .replace("\\", "\\\\")
+      .replace("%", "\\%")
+      .replace("_", "\\_");
+  }
+
+  private static void put(TestNameIndex index, TestNameDto row) {
+    String nome = TestUtils.normalizeName(row.nome());
+    if (nome == null) {
+      index.remove(row.id());
+    } else {
+      index.put(row.id(), nome);
+    }
+  }
+}
@@ -1,75 +1,281 @@
 package com.wesley.backend.service.impl;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.wesley.backend.dto.BatchItemResultDto;
+import com.wesley.backend.dto.CacheStatsDto;
 import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.PurgeResultDto;
+import com.wesley.backend.dto.ReconcileReportDto;
 import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.dto.TestStateDto;
+import com.wesley.backend.dto.UpdateStatusBatchResultDto;
 import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusBatchDto;
 import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.StatisticBucket;
 import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.exceptions.ConcurrentTestModificationException;
+import com.wesley.backend.exceptions.DuplicateTestException;
+import com.wesley.backend.exceptions.InvalidBatchException;
 import com.wesley.backend.exceptions.InvalidTestStatusException;
 import com.wesley.backend.exceptions.MissingTestIdOrNameException;
 import com.wesley.backend.exceptions.NotFoundException;
 import com.wesley.backend.exceptions.TestModificationException;
 import com.wesley.backend.models.Teste;
 import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestCacheService;
 import com.wesley.backend.service.TestService;
+import com.wesley.backend.service.TestStatisticsService;
+import com.wesley.backend.service.TestVersionService;
+import com.wesley.backend.utils.CursorUtils;
 import com.wesley.backend.utils.TestUtils;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
+@Timed(value = "teste.service", histogram = true)
 public class TestServiceImpl implements TestService {
 
+  private static final String MISSING_ID_OR_NAME =
+    "ID e nome do teste são obrigatórios.";
+
+  private static final String DUPLICATE_ID = "Já existe um teste com este ID.";
+
+  private static final int MAX_UPDATE_ATTEMPTS = 3;
+
   @Autowired
   private TestRepository testRepository;
 
+  @Autowired
+  private TestStatisticsService testStatisticsService;
+
+  @Autowired
+  private TestCacheService testCacheService;
+
+  @Autowired
+  private TestVersionService testVersionService;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private DistributionSummary findAllSize;
+
+  private DistributionSummary findAllByStatusSize;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${teste.batch.max-size:10000}")
+  private int batchMaxSize;
+
+  @Value("${teste.batch.chunk-size:1000}")
+  private int batchChunkSize;
+
+  @Value("${teste.purge.pause-ms:50}")
+  private long purgePauseMs;
+
+  @Value("${teste.compat.empty-status-not-found:true}")
+  private boolean emptyStatusNotFound;
+
+  @PostConstruct
+  void registerMetrics() {
+    findAllSize = resultSize("findAll");
+    findAllByStatusSize = resultSize("findAllByStatus");
+  }
+
+  /**
+   * Retorna todos os testes como projeções somente leitura. O status
+   * persistido é mantido em dia pelo TestStatusSweeper.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Page<TestView> findAll(Pageable pageable) {
+    Page<TestView> tests = testRepository.findViewsBy(pageable);
+    findAllSize.record(tests.getNumberOfElements());
+    return tests;
+  }
+
   /**
-   * Retorna todos os testes, atualizando o status de cada um.
+   * Retorna a página seguinte ao cursor informado, buscando por keyset em
+   * (sort, id) em vez de offset e sem COUNT.
    */
   @Override
-  public Page<Teste> findAll(Pageable pageable) {
-    Page<Teste> tests = testRepository.findAll(pageable);
-    tests.forEach(Teste::updateStatus);
+  @Transactional(readOnly = true)
+  public Window<TestView> findAll(String after, int size, String sort) {
+    KeysetScrollPosition position = CursorUtils.decode(after, sort);
+    Sort order = "id".equals(sort)
+      ? Sort.by("id")
+      : Sort.by(sort).and(Sort.by("id"));
+    Window<TestView> tests = testRepository
+      .findRowsBy(position, order, Limit.of(size))
+      .map(row -> new TestView(row.id(), row.nome(), row.status(), row.fim()));
+    findAllSize.record(tests.size());
     return tests;
   }
 
+  /**
+   * Busca um teste pelo ID, passando pelo cache.
+   */
+  @Override
+  public Teste findById(Long id) {
+    return getTestById(id);
+  }
+
+  /**
+   * Retorna a quantidade total de testes.
+   */
+  @Override
+  public long count() {
+    return testRepository.count();
+  }
+
   /**
    * Cria um novo teste, validando campos obrigatórios e atualizando status.
+   * O INSERT é emitido sem SELECT prévio; um id repetido é detectado pela
+   * violação da chave primária. Outras violações (nome longo demais, por
+   * exemplo) seguem adiante e viram o conflito genérico.
    */
   @Override
   @Transactional
   public Teste createTest(TestDto test) {
     if (test.id() == null || test.nome() == null) {
-      throw new MissingTestIdOrNameException(
-        "ID e nome do teste são obrigatórios."
-      );
+      throw new MissingTestIdOrNameException(MISSING_ID_OR_NAME);
     }
     Teste newTest = new Teste(test);
-    return saveAndUpdateStatus(newTest);
+    newTest.updateStatus();
+    try {
+      testRepository.saveAndFlush(newTest);
+    } catch (DataIntegrityViolationException e) {
+      if (!TestUtils.isUniqueViolation(e)) {
+        throw e;
+      }
+      throw new DuplicateTestException(DUPLICATE_ID);
+    }
+    testStatisticsService.increment(newTest.getFim(), newTest.getStatus());
+    publishChanged(
+      List.of(newTest.getId()),
+      EnumSet.of(newTest.getStatus())
+    );
+    return newTest;
+  }
+
+  /**
+   * Cria vários testes de uma vez. Cada item é validado como em createTest;
+   * os válidos são inseridos em transações por bloco, com inserts em lote
+   * via JDBC. Se um id for inserido por outra requisição entre a checagem e
+   * o flush, o bloco é refeito item a item e esse id volta como DUPLICATE.
+   * O resultado segue a ordem da requisição.
+   */
+  @Override
+  public List<BatchItemResultDto> createTests(List<TestDto> tests) {
+    if (tests.size() > batchMaxSize) {
+      throw new InvalidBatchException(
+        "O lote deve ter no máximo " + batchMaxSize + " testes."
+      );
+    }
+    BatchItemResultDto[] results = new BatchItemResultDto[tests.size()];
+    Map<Long, Integer> pending = new LinkedHashMap<>();
+    for (int i = 0; i < tests.size(); i++) {
+      TestDto test = tests.get(i);
+      if (test == null || test.id() == null || test.nome() == null) {
+        results[i] = BatchItemResultDto.invalid(
+          test == null ? null : test.id(),
+          MISSING_ID_OR_NAME
+        );
+      } else if (test.id() <= 0) {
+        results[i] = BatchItemResultDto.invalid(
+          test.id(),
+          "O ID do teste deve ser positivo."
+        );
+      } else if (pending.putIfAbsent(test.id(), i) != null) {
+        results[i] = BatchItemResultDto.duplicate(test.id());
+      }
+    }
+
+    List<Integer> indexes = List.copyOf(pending.values());
+    for (int from = 0; from < indexes.size(); from += batchChunkSize) {
+      List<Integer> chunk = indexes.subList(
+        from,
+        Math.min(from + batchChunkSize, indexes.size())
+      );
+      try {
+        transactionTemplate.executeWithoutResult(tx ->
+          insertChunk(tests, chunk, results)
+        );
+      } catch (RuntimeException e) {
+        if (!TestUtils.isUniqueViolation(e)) {
+          throw e;
+        }
+        // outra requisição inseriu um dos ids depois da checagem; refaz o
+        // bloco item a item para apontar só os repetidos
+        insertOneByOne(tests, chunk, results);
+      }
+    }
+    return Arrays.asList(results);
   }
 
   /**
    * Atualiza um teste existente, exceto se já estiver adquirido ou retirado.
+   * O @Version de Teste garante que uma alteração concorrente não seja
+   * sobrescrita: o UPDATE falha e a requisição recebe 409.
    */
   @Override
   @Transactional
   public Teste updateTest(UpdateTestDto testDto) {
     Teste test = getTestById(testDto.id());
+    validateNotFinal(test);
 
-    if (
-      test.getStatus() == TestEnum.ADQUIRIDO ||
-      test.getStatus() == TestEnum.RETIRADO
-    ) {
-      throw new TestModificationException(
-        "Teste já adquirido ou retirado, não é possível atualizar."
-      );
-    }
-
+    LocalDate previousFim = test.getFim();
+    TestEnum previousStatus = test.getStatus();
     if (testDto.nome() != null) {
       test.setNome(testDto.nome());
     }
@@ -77,28 +283,125 @@ public class TestServiceImpl implements TestService {
       test.setFim(testDto.fim());
     }
 
-    return saveAndUpdateStatus(test);
+    Teste updated = saveAndUpdateStatus(test);
+    testStatisticsService.move(
+      previousFim,
+      previousStatus,
+      updated.getFim(),
+      updated.getStatus()
+    );
+    publishChanged(
+      List.of(updated.getId()),
+      EnumSet.of(previousStatus, updated.getStatus())
+    );
+    return updated;
   }
 
   /**
-   * Atualiza o status do teste para ADQUIRIDO ou RETIRADO.
+   * Atualiza o status do teste para ADQUIRIDO ou RETIRADO com um UPDATE
+   * condicional à versão lida, sem regravar a entidade inteira. Se outra
+   * operação alterar o teste no meio do caminho, o teste é relido e a regra
+   * reavaliada; esgotadas as tentativas, a requisição recebe 409.
    */
   @Override
   @Transactional
   public Teste updateTestStatus(UpdateTestStatusDto testDto) {
-    Teste test = getTestById(testDto.id());
+    validateFinalStatus(testDto.status());
 
-    if (
-      testDto.status() != TestEnum.ADQUIRIDO &&
-      testDto.status() != TestEnum.RETIRADO
-    ) {
-      throw new InvalidTestStatusException(
-        "O status deve ser ADQUIRIDO ou RETIRADO para atualizar o teste."
+    for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+      Teste test = getTestById(testDto.id());
+      validateNotFinal(test);
+
+      int updated = testRepository.updateStatusIfUnchanged(
+        test.getId(),
+        testDto.status(),
+        test.getVersao(),
+        TestUtils.FINAL_STATUSES
       );
+      if (updated == 1) {
+        testStatisticsService.move(
+          test.getFim(),
+          test.getStatus(),
+          test.getFim(),
+          testDto.status()
+        );
+        publishChanged(
+          List.of(test.getId()),
+          EnumSet.of(test.getStatus(), testDto.status())
+        );
+        test.setStatus(testDto.status());
+        test.setVersao(test.getVersao() + 1);
+        return test;
+      }
+      // a cópia em cache está desatualizada; relê do banco na próxima volta
+      testCacheService.evict(List.of(test.getId()));
     }
+    throw new ConcurrentTestModificationException();
+  }
 
-    test.setStatus(testDto.status());
-    return testRepository.save(test);
+  /**
+   * Atualiza o status de vários testes para ADQUIRIDO ou RETIRADO com as
+   * mesmas regras de updateTestStatus. Cada bloco de ids é lido com
+   * bloqueio e atualizado com um único UPDATE, em transação própria.
+   */
+  @Override
+  public UpdateStatusBatchResultDto updateTestsStatus(
+    UpdateTestStatusBatchDto testsDto
+  ) {
+    validateFinalStatus(testsDto.status());
+    List<Long> ids = testsDto.ids() == null
+      ? List.of()
+      : testsDto.ids().stream().filter(Objects::nonNull).distinct().toList();
+    if (ids.size() > batchMaxSize) {
+      throw new InvalidBatchException(
+        "O lote deve ter no máximo " + batchMaxSize + " testes."
+      );
+    }
+
+    List<Long> updated = new ArrayList<>();
+    List<Long> notFound = new ArrayList<>();
+    List<Long> rejected = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += batchChunkSize) {
+      List<Long> chunk = ids.subList(
+        from,
+        Math.min(from + batchChunkSize, ids.size())
+      );
+      transactionTemplate.executeWithoutResult(tx -> {
+        Map<Long, TestStateDto> states = new HashMap<>();
+        for (TestStateDto state : testRepository.findStatesByIds(chunk)) {
+          states.put(state.id(), state);
+        }
+        List<TestStateDto> changeable = new ArrayList<>();
+        for (Long id : chunk) {
+          TestStateDto state = states.get(id);
+          if (state == null) {
+            notFound.add(id);
+          } else if (TestUtils.isFinal(state.status())) {
+            rejected.add(id);
+          } else {
+            changeable.add(state);
+          }
+        }
+        if (!changeable.isEmpty()) {
+          List<Long> changeableIds = changeable
+            .stream()
+            .map(TestStateDto::id)
+            .toList();
+          testRepository.updateStatusByIds(
+            changeableIds,
+            testsDto.status(),
+            TestUtils.FINAL_STATUSES
+          );
+          testStatisticsService.moveAll(changeable, testsDto.status());
+          publishChanged(
+            changeableIds,
+            statusesOf(changeable, testsDto.status())
+          );
+          updated.addAll(changeableIds);
+        }
+      });
+    }
+    return new UpdateStatusBatchResultDto(updated, notFound, rejected);
   }
 
   /**
@@ -107,62 +410,320 @@ public class TestServiceImpl implements TestService {
   @Override
   @Transactional
   public void deleteTest(Long id) {
-    Teste test = getTestById(id);
-    testRepository.delete(test);
+    // lê só o estado necessário aos contadores, com a linha bloqueada, e
+    // remove com um DELETE direto em vez de carregar a entidade
+    List<TestStateDto> states = testRepository.findStatesByIds(List.of(id));
+    if (states.isEmpty() || testRepository.deleteOneById(id) == 0) {
+      throw new NotFoundException("Teste não encontrado");
+    }
+    TestStateDto state = states.get(0);
+    testStatisticsService.decrement(state.fim(), state.status());
+    publishChanged(List.of(id), EnumSet.of(state.status()));
+  }
+
+  /**
+   * Remove os testes que atendem aos critérios informados.
+   * @param status Status dos testes a remover, ou null para qualquer status.
+   * @param fimBefore Remove apenas testes com fim anterior a esta data, ou
+   * null para não limitar por data.
+   */
+  @Override
+  public PurgeResultDto deleteTests(String status, LocalDate fimBefore) {
+    if (status == null && fimBefore == null) {
+      throw new InvalidBatchException(
+        "Informe status e/ou fimBefore para remover testes."
+      );
+    }
+    Set<TestEnum> statuses = status == null
+      ? EnumSet.allOf(TestEnum.class)
+      : EnumSet.of(TestUtils.parseStatus(status));
+    return deleteTests(statuses, fimBefore);
   }
 
   /**
-   * Busca todos os testes por status, atualizando o status de cada um.
+   * Remove em blocos os testes com os status informados e fim anterior à
+   * data. Cada bloco roda em sua própria transação, com uma pausa entre
+   * eles para não monopolizar o banco.
    */
   @Override
-  public List<Teste> findAllByStatus(String status) {
+  public PurgeResultDto deleteTests(
+    Collection<TestEnum> status,
+    LocalDate fimBefore
+  ) {
+    long removed = 0;
+    int chunks = 0;
+    int deleted;
+    do {
+      deleted = transactionTemplate.execute(tx -> {
+        PageRequest chunk = PageRequest.of(0, batchChunkSize);
+        List<TestStateDto> states = fimBefore == null
+          ? testRepository.findStatesToPurge(status, chunk)
+          : testRepository.findStatesToPurge(status, fimBefore, chunk);
+        if (states.isEmpty()) {
+          return 0;
+        }
+        List<Long> ids = states.stream().map(TestStateDto::id).toList();
+        int rows = testRepository.deleteByIds(ids);
+        testStatisticsService.removeAll(states);
+        publishChanged(ids, statusesOf(states, null));
+        return rows;
+      });
+      if (deleted > 0) {
+        removed += deleted;
+        chunks++;
+        log.info(
+          "Expurgo: bloco {} com {} testes ({} no total)",
+          chunks,
+          deleted,
+          removed
+        );
+      }
+    } while (deleted >= batchChunkSize && pause());
+    return new PurgeResultDto(removed, chunks);
+  }
+
+  /**
+   * Busca uma página de testes por status.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Page<TestView> findAllByStatus(String status, Pageable pageable) {
     TestEnum testStatus = TestUtils.parseStatus(status);
-    List<Teste> tests = testRepository.findByStatus(testStatus);
-    TestUtils.updateStatusForTests(tests);
-    TestUtils.validateTestsNotEmpty(tests, status);
-    return List.copyOf(tests);
+    Page<TestView> tests = testRepository.findViewsByStatus(
+      testStatus,
+      pageable
+    );
+    findAllByStatusSize.record(tests.getNumberOfElements());
+    if (emptyStatusNotFound && tests.getTotalElements() == 0) {
+      TestUtils.validateTestsNotEmpty(List.of(), status);
+    }
+    return tests;
   }
 
   /**
-   * Retorna estatísticas dos testes do mês atual.
+   * Entrega os testes do status um a um ao consumidor. As projeções não
+   * entram no contexto de persistência, então a memória fica constante.
+   * A quantidade entregue vai para a métrica de findAllByStatus.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllByStatus(String status, Consumer<TestView> consumer) {
+    TestEnum testStatus = TestUtils.parseStatus(status);
+    try (
+      Stream<TestView> tests = testRepository.streamViewsByStatusOrderById(
+        testStatus
+      )
+    ) {
+      long count = 0;
+      Iterator<TestView> iterator = tests.iterator();
+      while (iterator.hasNext()) {
+        consumer.accept(iterator.next());
+        count++;
+      }
+      findAllByStatusSize.record(count);
+    }
+  }
+
+  /**
+   * Retorna estatísticas dos testes do mês atual a partir dos contadores
+   * mantidos pelo TestStatisticsService, sem consultar a tabela de testes.
    */
   @Override
   public EstatisticDto getStatistics() {
-    List<Teste> allTests = testRepository.findAll();
-    List<Teste> testsByMonth = TestUtils.filterTestsByMonth(allTests);
+    return testStatisticsService.getStatistics(YearMonth.now());
+  }
+
+  /**
+   * Retorna a série de estatísticas do período, agrupada por dia, semana ou
+   * mês.
+   */
+  @Override
+  public List<EstatisticPeriodDto> getStatistics(
+    LocalDate from,
+    LocalDate to,
+    String bucket
+  ) {
+    StatisticBucket statisticBucket = TestUtils.parseBucket(bucket);
+    return testStatisticsService.getStatistics(from, to, statisticBucket);
+  }
 
-    int totalTestsByMonth = testsByMonth.size();
-    int acquired = TestUtils.countByStatus(testsByMonth, TestEnum.ADQUIRIDO);
-    int withdrawn = TestUtils.countByStatus(testsByMonth, TestEnum.RETIRADO);
+  /**
+   * Recalcula os contadores de estatísticas a partir da tabela de testes.
+   */
+  @Override
+  public ReconcileReportDto reconcileStatistics() {
+    ReconcileReportDto report = testStatisticsService.reconcile();
+    testVersionService.bumpAll();
+    return report;
+  }
 
-    double percentualAcquired = TestUtils.percentual(
-      acquired,
-      totalTestsByMonth
-    );
-    double percentualWithdrawn = TestUtils.percentual(
-      withdrawn,
-      totalTestsByMonth
-    );
-    double taxaAdesao = percentualAcquired;
-
-    return new EstatisticDto(
-      totalTestsByMonth,
-      acquired,
-      withdrawn,
-      percentualAcquired,
-      percentualWithdrawn,
-      taxaAdesao
-    );
+  /**
+   * Métricas do cache de testes.
+   */
+  @Override
+  public CacheStatsDto getCacheStats() {
+    return testCacheService.getStats();
+  }
+
+  /**
+   * Versão atual dos dados de testes, sem consultar o banco.
+   */
+  @Override
+  public String getDataVersion() {
+    return testVersionService.getVersion();
+  }
+
+  /**
+   * Versão atual dos testes do status informado, sem consultar o banco.
+   */
+  @Override
+  public String getDataVersion(String status) {
+    return testVersionService.getVersion(TestUtils.parseStatus(status));
+  }
+
+  /**
+   * Versão das estatísticas: a dos dados mais o dia atual, já que as
+   * estatísticas do mês dependem da data.
+   */
+  @Override
+  public String getStatisticsVersion() {
+    long day = LocalDate.now().toEpochDay();
+    return testVersionService.getVersion() + "-" + day;
   }
 
   // Métodos utilitários privados
 
+  private boolean pause() {
+    if (purgePauseMs <= 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(purgePauseMs);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Expurgo interrompido");
+      return false;
+    }
+  }
+
   private Teste getTestById(Long id) {
-    return testRepository
+    return testCacheService
       .findById(id)
       .orElseThrow(() -> new NotFoundException("Teste não encontrado"));
   }
 
+  private DistributionSummary resultSize(String method) {
+    return DistributionSummary.builder("teste.result.size")
+      .description("Quantidade de testes devolvidos pelas listagens")
+      .baseUnit("testes")
+      .tag("method", method)
+      .publishPercentileHistogram()
+      .register(meterRegistry);
+  }
+
+  private void publishChanged(List<Long> ids, Set<TestEnum> statuses) {
+    if (!ids.isEmpty()) {
+      eventPublisher.publishEvent(new TestsChangedEvent(ids, statuses));
+    }
+  }
+
+  private static Set<TestEnum> statusesOf(
+    List<TestStateDto> states,
+    TestEnum target
+  ) {
+    Set<TestEnum> statuses = EnumSet.noneOf(TestEnum.class);
+    states.forEach(state -> statuses.add(state.status()));
+    if (target != null) {
+      statuses.add(target);
+    }
+    return statuses;
+  }
+
+  private static Set<TestEnum> deltaStatuses(
+    Map<YearMonth, Map<TestEnum, Long>> deltas
+  ) {
+    Set<TestEnum> statuses = EnumSet.noneOf(TestEnum.class);
+    deltas.values().forEach(byStatus -> statuses.addAll(byStatus.keySet()));
+    return statuses;
+  }
+
+  private void insertChunk(
+    List<TestDto> tests,
+    List<Integer> chunk,
+    BatchItemResultDto[] results
+  ) {
+    Set<Long> existing = new HashSet<>(
+      testRepository.findExistingIds(
+        chunk.stream().map(i -> tests.get(i).id()).toList()
+      )
+    );
+    LocalDate hoje = LocalDate.now();
+    Map<YearMonth, Map<TestEnum, Long>> deltas = new HashMap<>();
+    List<Long> created = new ArrayList<>();
+    for (int i : chunk) {
+      TestDto dto = tests.get(i);
+      if (existing.contains(dto.id())) {
+        results[i] = BatchItemResultDto.duplicate(dto.id());
+        continue;
+      }
+      Teste test = new Teste(dto);
+      test.updateStatus(hoje);
+      entityManager.persist(test);
+      deltas
+        .computeIfAbsent(
+          YearMonth.from(test.getFim()),
+          key -> new EnumMap<>(TestEnum.class)
+        )
+        .merge(test.getStatus(), 1L, Long::sum);
+      results[i] = BatchItemResultDto.created(dto.id());
+      created.add(dto.id());
+    }
+    entityManager.flush();
+    entityManager.clear();
+    deltas.forEach((mes, byStatus) ->
+      byStatus.forEach((status, delta) ->
+        testStatisticsService.adjust(mes, status, delta)
+      )
+    );
+    publishChanged(created, deltaStatuses(deltas));
+  }
+
+  private void insertOneByOne(
+    List<TestDto> tests,
+    List<Integer> chunk,
+    BatchItemResultDto[] results
+  ) {
+    for (int i : chunk) {
+      try {
+        transactionTemplate.executeWithoutResult(tx ->
+          insertChunk(tests, List.of(i), results)
+        );
+      } catch (RuntimeException e) {
+        if (!TestUtils.isUniqueViolation(e)) {
+          throw e;
+        }
+        results[i] = BatchItemResultDto.duplicate(tests.get(i).id());
+      }
+    }
+  }
+
+  private void validateFinalStatus(TestEnum status) {
+    if (!TestUtils.isFinal(status)) {
+      throw new InvalidTestStatusException(
+        "O status deve ser ADQUIRIDO ou RETIRADO para atualizar o teste."
+      );
+    }
+  }
+
+  private void validateNotFinal(Teste test) {
+    if (TestUtils.isFinal(test.getStatus())) {
+      throw new TestModificationException(
+        "Teste já adquirido ou retirado, não é possível atualizar."
+      );
+    }
+  }
+
   private Teste saveAndUpdateStatus(Teste test) {
     test.updateStatus();
     return testRepository.save(test);
@@ -0,0 +1,314 @@
+package com.wesley.backend.service.impl;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.SnapshotStatsDto;
+import com.wesley.backend.dto.TestSnapshotRowDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.exceptions.InvalidStatisticsRangeException;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestSnapshotService;
+import com.wesley.backend.utils.StatusCounts;
+import com.wesley.backend.utils.TestUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modelo de leitura opcional com todos os testes em colunas primitivas
+ * (TestColumns), para estatísticas, contagens e filtros por data sem
+ * hidratar entidades. É carregado ao subir a aplicação e atualizado após
+ * cada commit pelos TestsChangedEvent: os ids alterados são relidos do banco
+ * e substituídos, ou removidos se não existirem mais. A releitura roda numa
+ * thread própria, como no índice de nomes da busca, então a escrita não
+ * espera por ela e o snapshot fica alguns instantes atrás do banco.
+ * <p>
+ * As consultas usam o bloqueio de leitura de um StampedLock; as escritas no
+ * snapshot são curtas e usam o de escrita. As releituras do banco são
+ * serializadas, para que uma leitura mais antiga nunca sobrescreva uma mais
+ * nova.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "teste.snapshot.enabled", havingValue = "true")
+public class TestSnapshotServiceImpl implements TestSnapshotService {
+
+  @Autowired
+  private TestRepository testRepository;
+
+  @Value("${teste.batch.chunk-size:1000}")
+  private int chunkSize;
+
+  private final TransactionTemplate readTransaction;
+
+  private final StampedLock lock = new StampedLock();
+
+  private final ReentrantLock refreshing = new ReentrantLock();
+
+  private TestColumns columns = new TestColumns(0);
+
+  /** Ids alterados durante uma recarga completa, aplicados ao final dela. */
+  private Set<Long> pending;
+
+  /** Ids alterados ainda não relidos pela thread de atualização. */
+  private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+    task -> {
+      Thread thread = new Thread(task, "snapshot-refresh");
+      thread.setDaemon(true);
+      return thread;
+    }
+  );
+
+  public TestSnapshotServiceImpl(PlatformTransactionManager transactionManager) {
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setPropagationBehavior(
+      TransactionDefinition.PROPAGATION_REQUIRES_NEW
+    );
+    this.readTransaction.setReadOnly(true);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reload();
+  }
+
+  /**
+   * Monta um snapshot novo a partir da tabela de testes e o troca pelo
+   * atual. As alterações confirmadas durante a leitura são reaplicadas em
+   * seguida.
+   */
+  @Override
+  public void reload() {
+    refreshing.lock();
+    try {
+      pending = new HashSet<>();
+    } finally {
+      refreshing.unlock();
+    }
+
+    long start = System.nanoTime();
+    TestColumns loaded = readTransaction.execute(tx -> {
+      TestColumns fresh = new TestColumns((int) testRepository.count());
+      try (Stream<TestSnapshotRowDto> rows = testRepository.streamSnapshotRows()) {
+        rows.forEach(fresh::put);
+      }
+      return fresh;
+    });
+
+    refreshing.lock();
+    try {
+      long stamp = lock.writeLock();
+      try {
+        columns = loaded;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+      Set<Long> changed = pending;
+      pending = null;
+      refresh(changed);
+    } finally {
+      refreshing.unlock();
+    }
+    log.info(
+      "Snapshot de testes carregado: {} testes, {} bytes, em {} ms",
+      loaded.size(),
+      loaded.memoryBytes(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  @TransactionalEventListener(
+    phase = TransactionPhase.AFTER_COMMIT,
+    fallbackExecution = true
+  )
+  public void onTestsChanged(TestsChangedEvent event) {
+    changed.addAll(event.ids());
+    if (scheduled.compareAndSet(false, true)) {
+      refresher.execute(this::drain);
+    }
+  }
+
+  /**
+   * Espera a thread de atualização aplicar as alterações já recebidas.
+   */
+  public void awaitRefresh() {
+    try {
+      refresher.submit(() -> {}).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  @Override
+  public Optional<TestSnapshotRowDto> findById(Long id) {
+    return Optional.ofNullable(read(current -> current.get(id)));
+  }
+
+  @Override
+  public StatusCounts countByStatus() {
+    return read(TestColumns::countByStatus);
+  }
+
+  @Override
+  public StatusCounts countByStatus(LocalDate from, LocalDate to) {
+    validateRange(from, to);
+    return read(current -> current.countByStatus(from, to));
+  }
+
+  @Override
+  public EstatisticDto getStatistics(YearMonth mes) {
+    return countByStatus(mes.atDay(1), mes.atEndOfMonth()).toEstatisticDto();
+  }
+
+  /**
+   * Ids dos testes com fim entre as datas (inclusive), filtrando pelo
+   * status quando informado.
+   */
+  @Override
+  public long[] findIds(String status, LocalDate from, LocalDate to) {
+    validateRange(from, to);
+    TestEnum testStatus = status == null ? null : TestUtils.parseStatus(status);
+    return read(current -> current.findIds(testStatus, from, to));
+  }
+
+  @Override
+  public SnapshotStatsDto getStats() {
+    return read(current -> {
+      long bytes = current.memoryBytes();
+      int size = current.size();
+      return new SnapshotStatsDto(
+        size,
+        current.dictionarySize(),
+        bytes,
+        size == 0 ? 0 : (double) bytes / size
+      );
+    });
+  }
+
+  // Métodos utilitários privados
+
+  /**
+   * Relê de uma vez os ids acumulados. A marca é limpa antes de esvaziar o
+   * conjunto, então um id que chegue no meio agenda outra passada.
+   */
+  private void drain() {
+    scheduled.set(false);
+    List<Long> ids = new ArrayList<>();
+    for (Iterator<Long> it = changed.iterator(); it.hasNext();) {
+      ids.add(it.next());
+      it.remove();
+    }
+    if (ids.isEmpty()) {
+      return;
+    }
+    refreshing.lock();
+    try {
+      if (pending != null) {
+        pending.addAll(ids);
+      } else {
+        refresh(ids);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Falha ao atualizar o snapshot para {} testes", ids.size(), e);
+    } finally {
+      refreshing.unlock();
+    }
+  }
+
+  private void refresh(Collection<Long> ids) {
+    List<Long> all = new ArrayList<>(ids);
+    for (int from = 0; from < all.size(); from += chunkSize) {
+      List<Long> chunk = all.subList(
+        from,
+        Math.min(from + chunkSize, all.size())
+      );
+      Map<Long, TestSnapshotRowDto> rows = new HashMap<>();
+      readTransaction.executeWithoutResult(tx -> {
+        for (TestSnapshotRowDto row : testRepository.findSnapshotRowsByIds(chunk)) {
+          rows.put(row.id(), row);
+        }
+      });
+      write(current -> {
+        for (Long id : chunk) {
+          TestSnapshotRowDto row = rows.get(id);
+          if (row == null) {
+            current.remove(id);
+          } else {
+            current.put(row);
+          }
+        }
+      });
+    }
+  }
+
+  private <T> T read(Function<TestColumns, T> query) {
+    long stamp = lock.readLock();
+    try {
+      return query.apply(columns);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private void write(Consumer<TestColumns> change) {
+    long stamp = lock.writeLock();
+    try {
+      change.accept(columns);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  private static void validateRange(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new InvalidStatisticsRangeException(
+        "A data inicial deve ser anterior ou igual à data final."
+      );
+    }
+  }
+}
@@ -0,0 +1,494 @@
+package com.wesley.backend.service.impl;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesley.backend.dto.DayStatusCountDto;
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.MonthStatusCountDto;
+import com.wesley.backend.dto.ReconcileReportDto;
+import com.wesley.backend.dto.StatisticDriftDto;
+import com.wesley.backend.dto.TestStateDto;
+import com.wesley.backend.enums.StatisticBucket;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.exceptions.InvalidStatisticsRangeException;
+import com.wesley.backend.models.TesteEstatistica;
+import com.wesley.backend.models.TesteEstatisticaId;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.repository.TestStatisticRepository;
+import com.wesley.backend.service.TestStatisticsService;
+import com.wesley.backend.utils.StatusCounts;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém contadores de testes por mês de fim e status. A tabela consolidada
+ * é atualizada na mesma transação da escrita; os contadores em memória só
+ * recebem os ajustes depois do commit, então uma escrita revertida nunca
+ * aparece nas estatísticas.
+ * <p>
+ * A recarga monta um mapa novo a partir da tabela consolidada e o troca de
+ * uma vez. Enquanto ela lê a tabela, nenhuma transação com ajustes pode estar
+ * entre o commit e a aplicação em memória: cada uma segura a trava de leitura
+ * desse intervalo, e a recarga segura a de escrita.
+ */
+@Slf4j
+@Service
+public class TestStatisticsServiceImpl implements TestStatisticsService {
+
+  private static final TestEnum[] STATUSES = TestEnum.values();
+
+  /** Intervalo máximo aceito nas estatísticas por período. */
+  private static final int MAX_RANGE_DAYS = 366 * 5;
+
+  @Autowired
+  private TestStatisticRepository statisticRepository;
+
+  @Autowired
+  private TestRepository testRepository;
+
+  private volatile Map<YearMonth, LongAdder[]> counters =
+    new ConcurrentHashMap<>();
+
+  private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+  private final TransactionTemplate newTransaction;
+
+  public TestStatisticsServiceImpl(PlatformTransactionManager transactionManager) {
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(
+      TransactionDefinition.PROPAGATION_REQUIRES_NEW
+    );
+  }
+
+  /**
+   * Carrega os contadores ao subir a aplicação, corrigindo a tabela
+   * consolidada caso ela tenha divergido da tabela de testes.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void onStartup() {
+    ReconcileReportDto report = reconcile();
+    if (!report.drifts().isEmpty()) {
+      log.warn(
+        "Contadores de estatísticas corrigidos: {} divergências",
+        report.drifts().size()
+      );
+    }
+  }
+
+  @Override
+  @Transactional
+  public void adjust(YearMonth mes, TestEnum status, long delta) {
+    if (delta == 0) {
+      return;
+    }
+    int anoMes = TesteEstatisticaId.toAnoMes(mes);
+    if (statisticRepository.increment(anoMes, status, delta) == 0) {
+      createCounterRow(new TesteEstatisticaId(anoMes, status));
+      statisticRepository.increment(anoMes, status, delta);
+    }
+    applyAfterCommit(mes, status, delta);
+  }
+
+  @Override
+  public void increment(LocalDate fim, TestEnum status) {
+    adjust(YearMonth.from(fim), status, 1);
+  }
+
+  @Override
+  public void decrement(LocalDate fim, TestEnum status) {
+    adjust(YearMonth.from(fim), status, -1);
+  }
+
+  @Override
+  public void move(
+    LocalDate fimAnterior,
+    TestEnum statusAnterior,
+    LocalDate fim,
+    TestEnum status
+  ) {
+    YearMonth mesAnterior = YearMonth.from(fimAnterior);
+    YearMonth mes = YearMonth.from(fim);
+    if (mesAnterior.equals(mes) && statusAnterior == status) {
+      return;
+    }
+    adjust(mesAnterior, statusAnterior, -1);
+    adjust(mes, status, 1);
+  }
+
+  /**
+   * Move os contadores de um lote de testes para o novo status, agrupando
+   * por mês e status de origem para fazer um ajuste por contador.
+   */
+  @Override
+  public void moveAll(List<TestStateDto> tests, TestEnum status) {
+    Map<YearMonth, Map<TestEnum, Long>> deltas = new HashMap<>();
+    for (TestStateDto test : tests) {
+      if (test.status() == status) {
+        continue;
+      }
+      Map<TestEnum, Long> byStatus = deltas.computeIfAbsent(
+        YearMonth.from(test.fim()),
+        key -> new EnumMap<>(TestEnum.class)
+      );
+      byStatus.merge(test.status(), -1L, Long::sum);
+      byStatus.merge(status, 1L, Long::sum);
+    }
+    deltas.forEach((mes, byStatus) ->
+      byStatus.forEach((from, delta) -> adjust(mes, from, delta))
+    );
+  }
+
+  /**
+   * Retira dos contadores um lote de testes removidos, com um ajuste por
+   * mês e status.
+   */
+  @Override
+  public void removeAll(List<TestStateDto> tests) {
+    Map<YearMonth, Map<TestEnum, Long>> deltas = new HashMap<>();
+    for (TestStateDto test : tests) {
+      deltas
+        .computeIfAbsent(
+          YearMonth.from(test.fim()),
+          key -> new EnumMap<>(TestEnum.class)
+        )
+        .merge(test.status(), -1L, Long::sum);
+    }
+    deltas.forEach((mes, byStatus) ->
+      byStatus.forEach((status, delta) -> adjust(mes, status, delta))
+    );
+  }
+
+  @Override
+  public long count(YearMonth mes, TestEnum status) {
+    LongAdder[] slots = counters.get(mes);
+    return slots == null ? 0 : slots[status.ordinal()].sum();
+  }
+
+  /**
+   * Monta as estatísticas do mês apenas a partir dos contadores em memória.
+   */
+  @Override
+  public EstatisticDto getStatistics(YearMonth mes) {
+    return countsOf(mes).toEstatisticDto();
+  }
+
+  /**
+   * Monta a série de estatísticas entre as datas informadas (inclusive),
+   * agrupada por dia, semana ou mês. Meses completos vêm dos contadores;
+   * os demais casos fazem uma única passada pelas contagens diárias em ordem
+   * de fim, sem carregar os testes em memória.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<EstatisticPeriodDto> getStatistics(
+    LocalDate from,
+    LocalDate to,
+    StatisticBucket bucket
+  ) {
+    if (from.isAfter(to)) {
+      throw new InvalidStatisticsRangeException(
+        "A data inicial deve ser anterior ou igual à data final."
+      );
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+      throw new InvalidStatisticsRangeException(
+        "O período máximo para estatísticas é de " + MAX_RANGE_DAYS + " dias."
+      );
+    }
+    if (
+      bucket == StatisticBucket.MONTH &&
+      from.getDayOfMonth() == 1 &&
+      to.equals(YearMonth.from(to).atEndOfMonth())
+    ) {
+      return getMonthlyStatisticsFromCounters(from, to);
+    }
+
+    List<EstatisticPeriodDto> series = new ArrayList<>();
+    StatusCounts counts = new StatusCounts();
+    LocalDate start = from;
+    LocalDate end = bucketEnd(start, to, bucket);
+    try (
+      Stream<DayStatusCountDto> rows = testRepository.streamDailyCountsBetween(
+        from,
+        to.plusDays(1)
+      )
+    ) {
+      Iterator<DayStatusCountDto> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        DayStatusCountDto row = iterator.next();
+        while (row.fim().isAfter(end)) {
+          series.add(counts.toPeriod(start, end));
+          counts.reset();
+          start = end.plusDays(1);
+          end = bucketEnd(start, to, bucket);
+        }
+        counts.add(row.status(), row.total());
+      }
+    }
+    series.add(counts.toPeriod(start, end));
+    counts.reset();
+    while (end.isBefore(to)) {
+      start = end.plusDays(1);
+      end = bucketEnd(start, to, bucket);
+      series.add(counts.toPeriod(start, end));
+    }
+    return series;
+  }
+
+  /**
+   * Recalcula os contadores a partir da tabela de testes, corrige a tabela
+   * consolidada e, após o commit, recarrega os contadores em memória.
+   * @return Relatório com as divergências encontradas.
+   */
+  @Override
+  @Transactional
+  public ReconcileReportDto reconcile() {
+    Map<TesteEstatisticaId, Long> expected = new HashMap<>();
+    for (MonthStatusCountDto count : testRepository.countByMonthAndStatus()) {
+      expected.put(
+        new TesteEstatisticaId(count.yearMonth(), count.status()),
+        count.total()
+      );
+    }
+
+    List<StatisticDriftDto> drifts = new ArrayList<>();
+    Map<TesteEstatisticaId, TesteEstatistica> stored = new HashMap<>();
+    for (TesteEstatistica row : statisticRepository.findAll()) {
+      stored.put(row.getId(), row);
+    }
+    for (Map.Entry<TesteEstatisticaId, Long> entry : expected.entrySet()) {
+      TesteEstatistica row = stored.remove(entry.getKey());
+      long found = row == null ? 0 : row.getTotal();
+      if (found != entry.getValue()) {
+        drifts.add(drift(entry.getKey(), entry.getValue(), found));
+        statisticRepository.save(
+          new TesteEstatistica(entry.getKey(), entry.getValue())
+        );
+      }
+    }
+    for (TesteEstatistica orphan : stored.values()) {
+      if (orphan.getTotal() != 0) {
+        drifts.add(drift(orphan.getId(), 0, orphan.getTotal()));
+      }
+      statisticRepository.delete(orphan);
+    }
+
+    runAfterCommit(this::reload);
+    return new ReconcileReportDto(expected.size(), drifts);
+  }
+
+  // Métodos utilitários privados
+
+  private StatisticDriftDto drift(
+    TesteEstatisticaId id,
+    long expected,
+    long found
+  ) {
+    return new StatisticDriftDto(id.getMes(), id.getStatus(), expected, found);
+  }
+
+  private List<EstatisticPeriodDto> getMonthlyStatisticsFromCounters(
+    LocalDate from,
+    LocalDate to
+  ) {
+    List<EstatisticPeriodDto> series = new ArrayList<>();
+    for (
+      YearMonth mes = YearMonth.from(from);
+      !mes.isAfter(YearMonth.from(to));
+      mes = mes.plusMonths(1)
+    ) {
+      series.add(countsOf(mes).toPeriod(mes.atDay(1), mes.atEndOfMonth()));
+    }
+    return series;
+  }
+
+  private StatusCounts countsOf(YearMonth mes) {
+    StatusCounts counts = new StatusCounts();
+    for (TestEnum status : STATUSES) {
+      counts.add(status, count(mes, status));
+    }
+    return counts;
+  }
+
+  private static LocalDate bucketEnd(
+    LocalDate start,
+    LocalDate to,
+    StatisticBucket bucket
+  ) {
+    LocalDate end = switch (bucket) {
+      case DAY -> start;
+      case WEEK -> start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+      case MONTH -> YearMonth.from(start).atEndOfMonth();
+    };
+    return end.isAfter(to) ? to : end;
+  }
+
+  /**
+   * Cria a linha do contador zerada em uma transação própria, para que duas
+   * escritas concorrentes no mesmo mês não colidam no INSERT dentro das
+   * transações delas. Se outra transação criou a linha antes, nada muda.
+   */
+  private void createCounterRow(TesteEstatisticaId id) {
+    try {
+      newTransaction.executeWithoutResult(tx -> {
+        if (!statisticRepository.existsById(id)) {
+          statisticRepository.saveAndFlush(new TesteEstatistica(id, 0));
+        }
+      });
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Contador {} criado por outra transação", id);
+    }
+  }
+
+  /**
+   * Relê a tabela consolidada já confirmada e troca os contadores em memória
+   * de uma vez, sem que um leitor veja o mapa pela metade.
+   */
+  private void reload() {
+    reloadLock.writeLock().lock();
+    try {
+      Map<YearMonth, LongAdder[]> fresh = new ConcurrentHashMap<>();
+      newTransaction.executeWithoutResult(tx -> {
+        for (TesteEstatistica row : statisticRepository.findAll()) {
+          TesteEstatisticaId id = row.getId();
+          addInMemory(fresh, id.getMes(), id.getStatus(), row.getTotal());
+        }
+      });
+      counters = fresh;
+    } finally {
+      reloadLock.writeLock().unlock();
+    }
+  }
+
+  private void runAfterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      }
+    );
+  }
+
+  private static void addInMemory(
+    Map<YearMonth, LongAdder[]> target,
+    YearMonth mes,
+    TestEnum status,
+    long delta
+  ) {
+    target
+      .computeIfAbsent(mes, key -> newSlots())
+      [status.ordinal()].add(delta);
+  }
+
+  private static LongAdder[] newSlots() {
+    LongAdder[] slots = new LongAdder[STATUSES.length];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = new LongAdder();
+    }
+    return slots;
+  }
+
+  /**
+   * Guarda o ajuste para aplicá-lo em memória depois do commit. Os ajustes de
+   * uma transação ficam juntos em uma única sincronização.
+   */
+  private void applyAfterCommit(YearMonth mes, TestEnum status, long delta) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      reloadLock.readLock().lock();
+      try {
+        addInMemory(counters, mes, status, delta);
+      } finally {
+        reloadLock.readLock().unlock();
+      }
+      return;
+    }
+    PendingDeltas pending =
+      (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      pending = new PendingDeltas();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+    pending.add(mes, status, delta);
+  }
+
+  /**
+   * Ajustes de uma transação ainda não confirmada. A trava de leitura é
+   * tomada antes do commit e liberada depois que os ajustes foram aplicados,
+   * para que uma recarga nunca leia a tabela no meio desse intervalo.
+   */
+  private final class PendingDeltas implements TransactionSynchronization {
+
+    private final Map<YearMonth, long[]> deltas = new HashMap<>();
+    private boolean locked;
+
+    void add(YearMonth mes, TestEnum status, long delta) {
+      deltas.computeIfAbsent(mes, key -> new long[STATUSES.length])
+        [status.ordinal()] += delta;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      reloadLock.readLock().lock();
+      locked = true;
+    }
+
+    @Override
+    public void afterCommit() {
+      Map<YearMonth, LongAdder[]> target = counters;
+      deltas.forEach((mes, byStatus) -> {
+        for (TestEnum status : STATUSES) {
+          if (byStatus[status.ordinal()] != 0) {
+            addInMemory(target, mes, status, byStatus[status.ordinal()]);
+          }
+        }
+      });
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(
+        TestStatisticsServiceImpl.this
+      );
+      if (locked) {
+        locked = false;
+        reloadLock.readLock().unlock();
+      }
+    }
+  }
+}
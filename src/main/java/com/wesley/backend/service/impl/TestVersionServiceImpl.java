@@ -0,0 +1,64 @@
+package com.wesley.backend.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.service.TestVersionService;
+
+/**
+ * Versões dos dados de testes, usadas como ETag pelas listagens e
+ * estatísticas. Há uma versão global e uma por status; ambas só avançam
+ * após o commit, para que uma versão nunca seja associada a dados
+ * anteriores a ela. O prefixo muda a cada inicialização, já que os
+ * contadores vivem em memória.
+ */
+@Service
+public class TestVersionServiceImpl implements TestVersionService {
+
+  private final String boot = Long.toString(System.currentTimeMillis(), 36);
+
+  private final AtomicLong global = new AtomicLong();
+
+  private final AtomicLongArray byStatus = new AtomicLongArray(
+    TestEnum.values().length
+  );
+
+  @Override
+  public String getVersion() {
+    return boot + "-" + global.get();
+  }
+
+  @Override
+  public String getVersion(TestEnum status) {
+    return boot + "-" + byStatus.get(status.ordinal());
+  }
+
+  /**
+   * Avança todas as versões, para mudanças que não passam pelos eventos de
+   * teste (virada do dia, reconciliação dos contadores).
+   */
+  @Override
+  public void bumpAll() {
+    for (int i = 0; i < byStatus.length(); i++) {
+      byStatus.incrementAndGet(i);
+    }
+    global.incrementAndGet();
+  }
+
+  @TransactionalEventListener(
+    phase = TransactionPhase.AFTER_COMMIT,
+    fallbackExecution = true
+  )
+  public void onTestsChanged(TestsChangedEvent event) {
+    for (TestEnum status : event.statuses()) {
+      byStatus.incrementAndGet(status.ordinal());
+    }
+    global.incrementAndGet();
+  }
+}
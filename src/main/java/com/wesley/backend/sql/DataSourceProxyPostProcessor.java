@@ -0,0 +1,47 @@
+package com.wesley.backend.sql;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Envolve o DataSource num proxy que mede cada statement e conta as linhas
+ * lidas dos ResultSets (QueryStatsListener).
+ */
+@Component
+@ConditionalOnProperty(
+  name = "teste.sql.proxy.enabled",
+  havingValue = "true",
+  matchIfMissing = true
+)
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+  private final Duration slowThreshold;
+
+  public DataSourceProxyPostProcessor(
+    @Value("${teste.sql.slow-query-threshold:200ms}") Duration slowThreshold
+  ) {
+    this.slowThreshold = slowThreshold;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof DataSource dataSource)) {
+      return bean;
+    }
+    QueryStatsListener listener = new QueryStatsListener(slowThreshold);
+    return ProxyDataSourceBuilder.create(dataSource)
+      .name(beanName)
+      .listener(listener)
+      .methodListener(listener)
+      .proxyResultSet()
+      .build();
+  }
+}
@@ -0,0 +1,81 @@
+package com.wesley.backend.sql;
+
+/**
+ * Statements executados, tempo gasto e linhas lidas dentro de um escopo
+ * (uma requisição, ou um trecho medido em teste), por thread. Escopos
+ * aninhados somam os próprios números ao escopo de fora quando fecham.
+ */
+public final class QueryStats {
+
+  private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+  private final QueryStats parent;
+
+  private long statements;
+
+  private long durationMillis;
+
+  private long rows;
+
+  private QueryStats(QueryStats parent) {
+    this.parent = parent;
+  }
+
+  /**
+   * Abre um escopo na thread atual.
+   */
+  public static QueryStats open() {
+    QueryStats stats = new QueryStats(CURRENT.get());
+    CURRENT.set(stats);
+    return stats;
+  }
+
+  /**
+   * Escopo aberto na thread atual, ou null se não houver.
+   */
+  static QueryStats current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Fecha o escopo, repassando os números ao escopo de fora.
+   */
+  public void close() {
+    if (parent != null) {
+      parent.statements += statements;
+      parent.durationMillis += durationMillis;
+      parent.rows += rows;
+      CURRENT.set(parent);
+    } else {
+      CURRENT.remove();
+    }
+  }
+
+  void addStatement(long elapsedMillis) {
+    statements++;
+    durationMillis += elapsedMillis;
+  }
+
+  void addRow() {
+    rows++;
+  }
+
+  public long statements() {
+    return statements;
+  }
+
+  public long durationMillis() {
+    return durationMillis;
+  }
+
+  public long rows() {
+    return rows;
+  }
+
+  @Override
+  public String toString() {
+    return (
+      statements + " statements, " + rows + " linhas, " + durationMillis + " ms"
+    );
+  }
+}
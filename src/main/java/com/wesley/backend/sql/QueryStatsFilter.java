@@ -0,0 +1,48 @@
+package com.wesley.backend.sql;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Abre um escopo de QueryStats por requisição e registra em debug quantos
+ * statements, linhas e milissegundos de banco ela consumiu.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+  name = "teste.sql.proxy.enabled",
+  havingValue = "true",
+  matchIfMissing = true
+)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain filterChain
+  ) throws ServletException, IOException {
+    QueryStats stats = QueryStats.open();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      log.debug(
+        "{} {}: {}",
+        request.getMethod(),
+        request.getRequestURI(),
+        stats
+      );
+      stats.close();
+    }
+  }
+}
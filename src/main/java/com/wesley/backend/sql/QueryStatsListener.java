@@ -0,0 +1,75 @@
+package com.wesley.backend.sql;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conta statements, tempo e linhas lidas no escopo aberto da thread e
+ * registra em log os statements acima do limite configurado, com o método
+ * do TestService que os originou. Um lote JDBC conta como um statement.
+ */
+@Slf4j
+class QueryStatsListener
+  implements QueryExecutionListener, MethodExecutionListener {
+
+  private final long slowThresholdMillis;
+
+  QueryStatsListener(Duration slowThreshold) {
+    this.slowThresholdMillis = slowThreshold.toMillis();
+  }
+
+  @Override
+  public void beforeQuery(
+    ExecutionInfo execInfo,
+    List<QueryInfo> queryInfoList
+  ) {}
+
+  @Override
+  public void afterQuery(
+    ExecutionInfo execInfo,
+    List<QueryInfo> queryInfoList
+  ) {
+    QueryStats stats = QueryStats.current();
+    if (stats != null) {
+      stats.addStatement(execInfo.getElapsedTime());
+    }
+    if (execInfo.getElapsedTime() >= slowThresholdMillis) {
+      log.warn(
+        "Consulta lenta ({} ms) em {}: {}",
+        execInfo.getElapsedTime(),
+        ServiceMethodAspect.current(),
+        queryInfoList
+          .stream()
+          .map(QueryInfo::getQuery)
+          .collect(Collectors.joining("; "))
+      );
+    }
+  }
+
+  @Override
+  public void beforeMethod(MethodExecutionContext executionContext) {}
+
+  @Override
+  public void afterMethod(MethodExecutionContext executionContext) {
+    if (
+      executionContext.getTarget() instanceof ResultSet &&
+      "next".equals(executionContext.getMethod().getName()) &&
+      Boolean.TRUE.equals(executionContext.getResult())
+    ) {
+      QueryStats stats = QueryStats.current();
+      if (stats != null) {
+        stats.addRow();
+      }
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.wesley.backend.sql;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda, durante a chamada, qual método do TestService está executando,
+ * para que o log de consultas lentas aponte a origem do statement.
+ */
+@Aspect
+@Component
+public class ServiceMethodAspect {
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  static String current() {
+    return CURRENT.get();
+  }
+
+  @Around("execution(* com.wesley.backend.service.TestService.*(..))")
+  public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+    String previous = CURRENT.get();
+    CURRENT.set("TestService." + joinPoint.getSignature().getName());
+    try {
+      return joinPoint.proceed();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
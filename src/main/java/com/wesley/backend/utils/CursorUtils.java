@@ -0,0 +1,95 @@
+package com.wesley.backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.exceptions.InvalidCursorException;
+
+/**
+ * Classe utilitária para os cursores opacos da paginação por keyset.
+ * O cursor guarda a chave de ordenação e o id do último teste retornado.
+ */
+public class CursorUtils {
+
+  /** Chaves de ordenação aceitas na paginação por cursor. */
+  public static final Set<String> SORT_KEYS = Set.of("id", "nome", "status", "fim");
+
+  private static final String SEPARATOR = "\n";
+
+  /**
+   * Valida a chave de ordenação informada.
+   * @param sort Nome da propriedade de ordenação.
+   * @throws InvalidCursorException se a chave não for suportada.
+   */
+  public static void validateSort(String sort) {
+    if (!SORT_KEYS.contains(sort)) {
+      throw new InvalidCursorException(
+        "Ordenação não suportada na paginação por cursor: " + sort
+      );
+    }
+  }
+
+  /**
+   * Gera o cursor que aponta para depois da posição informada. A posição
+   * vem da janela do repositório, com os valores gravados nas colunas; o
+   * status exibido ao cliente pode ter sido recalculado e não serve de chave.
+   * @param sort Propriedade de ordenação.
+   * @param last Posição do último teste da página.
+   * @return Cursor opaco em Base64 URL-safe.
+   */
+  public static String encode(String sort, KeysetScrollPosition last) {
+    Map<String, ?> keys = last.getKeys();
+    Object value = "id".equals(sort) ? "" : keys.get(sort);
+    String raw = sort + SEPARATOR + keys.get("id") + SEPARATOR + value;
+    return Base64
+      .getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Converte o cursor na posição de keyset correspondente. Um cursor vazio
+   * representa a primeira página.
+   * @param cursor Cursor recebido do cliente.
+   * @param sort Propriedade de ordenação da requisição.
+   * @return Posição de keyset ordenada por (sort, id).
+   * @throws InvalidCursorException se o cursor for inválido ou não
+   * corresponder à ordenação.
+   */
+  public static KeysetScrollPosition decode(String cursor, String sort) {
+    validateSort(sort);
+    if (cursor == null || cursor.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      String raw = new String(
+        Base64.getUrlDecoder().decode(cursor),
+        StandardCharsets.UTF_8
+      );
+      String[] parts = raw.split(SEPARATOR, 3);
+      if (parts.length != 3 || !parts[0].equals(sort)) {
+        throw new InvalidCursorException("Cursor inválido: " + cursor);
+      }
+      Map<String, Object> keys = new LinkedHashMap<>();
+      switch (sort) {
+        case "nome" -> keys.put("nome", parts[2]);
+        case "status" -> keys.put("status", TestEnum.valueOf(parts[2]));
+        case "fim" -> keys.put("fim", LocalDate.parse(parts[2]));
+        default -> {}
+      }
+      keys.put("id", Long.valueOf(parts[1]));
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException("Cursor inválido: " + cursor);
+    }
+  }
+}
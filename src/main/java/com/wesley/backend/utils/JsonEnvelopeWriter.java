@@ -0,0 +1,158 @@
+package com.wesley.backend.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Escreve os envelopes de ResponseDto e ResponsePageDto direto no
+ * OutputStream da resposta, item a item, sem montar a lista nem o corpo
+ * inteiro em memória. O JSON produzido é o mesmo dos DTOs.
+ * <p>
+ * Usa uma cópia do ObjectMapper do Spring com um pool de buffers
+ * compartilhado entre threads, em vez do pool por thread padrão do Jackson,
+ * para que os buffers sejam reaproveitados entre requisições também com
+ * threads virtuais.
+ */
+@Component
+public class JsonEnvelopeWriter {
+
+  private final ObjectMapper mapper;
+
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  public JsonEnvelopeWriter(ObjectMapper objectMapper) {
+    JsonFactory factory = objectMapper
+      .getFactory()
+      .rebuild()
+      .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+      .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+      .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+      // um flush no stream da resposta a confirmaria antes da hora
+      .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+      .build();
+    this.mapper = objectMapper.copyWith(factory);
+  }
+
+  /**
+   * Abre um envelope sobre o stream. Nada é escrito até o primeiro item ou
+   * até o envelope ser concluído; se ele for fechado antes disso, o stream
+   * continua intocado e a resposta ainda pode virar um erro.
+   * @param out Stream de saída, que não é fechado pelo envelope.
+   * @param type Tipo dos itens da lista.
+   * @return Envelope a ser preenchido e concluído.
+   */
+  public <T> Envelope<T> open(OutputStream out, Class<T> type)
+    throws IOException {
+    ObjectWriter writer = writers.computeIfAbsent(
+      type,
+      key -> mapper
+        .writerFor(key)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+    );
+    return new Envelope<>(mapper.createGenerator(out), writer);
+  }
+
+  /**
+   * Envelope em escrita. Não é thread-safe.
+   */
+  public static final class Envelope<T> implements Closeable {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private SequenceWriter items;
+    private long count;
+
+    private Envelope(JsonGenerator generator, ObjectWriter writer) {
+      this.generator = generator;
+      this.writer = writer;
+    }
+
+    /**
+     * Escreve um item da lista, abrindo o envelope se for o primeiro.
+     * @throws UncheckedIOException se a escrita falhar, para uso em
+     * consumidores.
+     */
+    public void write(T item) {
+      try {
+        start();
+        items.write(item);
+        count++;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * @return Quantidade de itens escritos.
+     */
+    public long count() {
+      return count;
+    }
+
+    /**
+     * Conclui o envelope de um ResponseDto.
+     */
+    public void finish() throws IOException {
+      start();
+      generator.writeEndArray();
+      generator.writeEndObject();
+      generator.flush();
+    }
+
+    /**
+     * Conclui o envelope de um ResponsePageDto com os dados da página.
+     */
+    public void finishPage(
+      int page,
+      int size,
+      long totalElements,
+      int totalPages
+    ) throws IOException {
+      start();
+      generator.writeEndArray();
+      generator.writeNumberField("page", page);
+      generator.writeNumberField("size", size);
+      generator.writeNumberField("totalElements", totalElements);
+      generator.writeNumberField("totalPages", totalPages);
+      generator.writeEndObject();
+      generator.flush();
+    }
+
+    /**
+     * Devolve os buffers ao pool. Um envelope não concluído não é
+     * completado: se houve falha no meio, o corpo fica truncado.
+     */
+    @Override
+    public void close() throws IOException {
+      generator.close();
+    }
+
+    private void start() throws IOException {
+      if (items != null) {
+        return;
+      }
+      generator.writeStartObject();
+      generator.writeBooleanField("ok", true);
+      generator.writeNullField("error");
+      generator.writeArrayFieldStart("data");
+      // um único SequenceWriter reaproveita o contexto de serialização
+      // entre os itens, em vez de criar um por item
+      items = writer.writeValues(generator);
+    }
+  }
+}
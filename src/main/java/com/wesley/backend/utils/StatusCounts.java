@@ -0,0 +1,119 @@
+package com.wesley.backend.utils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+
+/**
+ * Acumulador de contagens por status, com uma posição primitiva por ordinal
+ * de TestEnum. Conta todos os status numa única passada e pode ser combinado
+ * com outro acumulador, o que permite usá-lo numa redução paralela (ver
+ * TestUtils.statusCounts). Não é thread-safe: cada thread usa o seu.
+ */
+public final class StatusCounts {
+
+  private static final TestEnum[] STATUSES = TestEnum.values();
+
+  private final long[] counts = new long[STATUSES.length];
+
+  /**
+   * Conta um teste pelo seu status.
+   * @param test Teste a ser contado.
+   */
+  public void add(Teste test) {
+    counts[test.getStatus().ordinal()]++;
+  }
+
+  /**
+   * Soma uma quantidade ao status informado, como nas contagens agregadas
+   * vindas do banco.
+   * @param status Status a ser incrementado.
+   * @param total Quantidade a somar.
+   */
+  public void add(TestEnum status, long total) {
+    counts[status.ordinal()] += total;
+  }
+
+  /**
+   * Soma as contagens de outro acumulador a este.
+   * @param other Acumulador a ser incorporado.
+   * @return Este acumulador, já com as contagens somadas.
+   */
+  public StatusCounts combine(StatusCounts other) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    return this;
+  }
+
+  /**
+   * Zera as contagens, para reaproveitar o acumulador.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0);
+  }
+
+  /**
+   * @param status Status consultado.
+   * @return Quantidade de testes com o status.
+   */
+  public long get(TestEnum status) {
+    return counts[status.ordinal()];
+  }
+
+  /**
+   * @return Quantidade de testes em todos os status.
+   */
+  public long total() {
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * Monta as estatísticas no formato do endpoint de estatísticas do mês.
+   * @return EstatisticDto com total, adquiridos e retirados.
+   */
+  public EstatisticDto toEstatisticDto() {
+    return EstatisticDto.of(
+      (int) total(),
+      (int) get(TestEnum.ADQUIRIDO),
+      (int) get(TestEnum.RETIRADO)
+    );
+  }
+
+  /**
+   * Monta um ponto da série de estatísticas por período.
+   * @param inicio Primeiro dia do período.
+   * @param fim Último dia do período.
+   * @return EstatisticPeriodDto com as contagens atuais.
+   */
+  public EstatisticPeriodDto toPeriod(LocalDate inicio, LocalDate fim) {
+    return EstatisticPeriodDto.of(
+      inicio,
+      fim,
+      (int) total(),
+      (int) get(TestEnum.ADQUIRIDO),
+      (int) get(TestEnum.RETIRADO),
+      (int) get(TestEnum.TESTE_EXPIRADO)
+    );
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("StatusCounts{");
+    for (TestEnum status : STATUSES) {
+      if (status.ordinal() > 0) {
+        builder.append(", ");
+      }
+      builder.append(status).append('=').append(counts[status.ordinal()]);
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -1,9 +1,24 @@
 package com.wesley.backend.utils;
 
+import java.sql.SQLException;
+import java.text.Normalizer;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collector;
 
+import org.springframework.dao.DuplicateKeyException;
+
+import com.wesley.backend.enums.StatisticBucket;
 import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.exceptions.InvalidStatisticsRangeException;
 import com.wesley.backend.exceptions.InvalidTestStatusException;
 import com.wesley.backend.exceptions.NotFoundException;
 import com.wesley.backend.models.Teste;
@@ -14,6 +29,79 @@ import com.wesley.backend.models.Teste;
  */
 public class TestUtils {
 
+  /** Status definidos pelo operador, que não mudam mais com o tempo. */
+  public static final Set<TestEnum> FINAL_STATUSES = Collections.unmodifiableSet(
+    EnumSet.of(TestEnum.ADQUIRIDO, TestEnum.RETIRADO)
+  );
+
+  /** Dia atual e o instante, em milissegundos, em que ele termina. */
+  private record Today(LocalDate date, long endsAt) {}
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private static final Pattern SPACES = Pattern.compile("\\s+");
+
+  /** SQLState de chave primária ou única repetida, no H2 e no PostgreSQL. */
+  private static final String UNIQUE_VIOLATION = "23505";
+
+  private static volatile Today today = new Today(LocalDate.MIN, 0);
+
+  /**
+   * Indica se o status é final (ADQUIRIDO ou RETIRADO).
+   * @param status Status do teste.
+   * @return true se o teste não pode mais ser modificado.
+   */
+  public static boolean isFinal(TestEnum status) {
+    return FINAL_STATUSES.contains(status);
+  }
+
+  /**
+   * Status de um teste em relação ao dia informado. Status finais não mudam;
+   * os demais dependem de o fim já ter passado, ser hoje ou estar à frente.
+   * @param status Status atual do teste.
+   * @param fim Data de fim do teste.
+   * @param hoje Dia de referência.
+   * @return Status recalculado.
+   */
+  public static TestEnum deriveStatus(
+    TestEnum status,
+    LocalDate fim,
+    LocalDate hoje
+  ) {
+    if (isFinal(status)) {
+      return status;
+    }
+    if (fim.isBefore(hoje)) {
+      return TestEnum.TESTE_EXPIRADO;
+    }
+    if (fim.isEqual(hoje)) {
+      return TestEnum.TESTE_FINALIZADO;
+    }
+    return TestEnum.EM_TESTE;
+  }
+
+  /**
+   * Dia atual no fuso do sistema, recalculado só quando o dia vira. Evita
+   * uma chamada a LocalDate.now() por linha nas projeções.
+   * @return Data de hoje.
+   */
+  public static LocalDate today() {
+    Today current = today;
+    long now = System.currentTimeMillis();
+    if (now < current.endsAt()) {
+      return current.date();
+    }
+    ZoneId zone = ZoneId.systemDefault();
+    LocalDate date = LocalDate.now(zone);
+    long endsAt = date
+      .plusDays(1)
+      .atStartOfDay(zone)
+      .toInstant()
+      .toEpochMilli();
+    today = new Today(date, endsAt);
+    return date;
+  }
+
   /**
    * Converte uma string para o enum TestEnum, lançando exceção se inválido.
    * @param status String representando o status.
@@ -31,11 +119,36 @@ public class TestUtils {
   }
 
   /**
-   * Atualiza o status de todos os testes da lista conforme a lógica de negócio.
-   * @param tests Lista de testes.
+   * Converte uma string para o enum StatisticBucket, ignorando maiúsculas.
+   * @param bucket String representando o agrupamento (day, week ou month).
+   * @return StatisticBucket correspondente.
+   * @throws InvalidStatisticsRangeException se o agrupamento for inválido.
    */
-  public static void updateStatusForTests(List<Teste> tests) {
-    tests.forEach(Teste::updateStatus);
+  public static StatisticBucket parseBucket(String bucket) {
+    try {
+      return StatisticBucket.valueOf(bucket.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new InvalidStatisticsRangeException(
+        "Agrupamento de estatísticas inválido: " + bucket
+      );
+    }
+  }
+
+  /**
+   * Forma do nome usada na busca: minúsculas, sem acentos e com os espaços
+   * colapsados. Nunca fica maior que o nome original.
+   * @param nome Nome do teste.
+   * @return Nome normalizado, ou null se o nome for null.
+   */
+  public static String normalizeName(String nome) {
+    if (nome == null) {
+      return null;
+    }
+    String lower = nome.toLowerCase(Locale.ROOT);
+    String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+    String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    String composed = Normalizer.normalize(stripped, Normalizer.Form.NFC);
+    return SPACES.matcher(composed).replaceAll(" ").trim();
   }
 
   /**
@@ -44,7 +157,7 @@ public class TestUtils {
    * @param status Status utilizado na busca.
    * @throws NotFoundException se a lista estiver vazia.
    */
-  public static void validateTestsNotEmpty(List<Teste> tests, String status) {
+  public static void validateTestsNotEmpty(List<?> tests, String status) {
     if (tests.isEmpty()) {
       throw new NotFoundException(
         "Nenhum teste encontrado com o status: " + status
@@ -60,10 +173,10 @@ public class TestUtils {
    */
   public static List<Teste> filterTestsByMonth(List<Teste> tests) {
     if (tests.isEmpty()) throw new NotFoundException("Nenhum teste encontrado");
-    LocalDate now = LocalDate.now();
+    YearMonth now = YearMonth.now();
     return tests
       .stream()
-      .filter(test -> test.getFim().getMonth() == now.getMonth())
+      .filter(test -> YearMonth.from(test.getFim()).equals(now))
       .toList();
   }
 
@@ -79,6 +192,66 @@ public class TestUtils {
       .count();
   }
 
+  /**
+   * Conta os testes de cada status cujo fim está entre as datas informadas
+   * (inclusive), numa única passada e sem listas intermediárias.
+   * @param tests Testes a serem contados.
+   * @param from Primeiro dia do período.
+   * @param to Último dia do período.
+   * @return Contagens por status.
+   */
+  public static StatusCounts countByStatus(
+    Collection<Teste> tests,
+    LocalDate from,
+    LocalDate to
+  ) {
+    StatusCounts counts = new StatusCounts();
+    for (Teste test : tests) {
+      if (isWithin(test.getFim(), from, to)) {
+        counts.add(test);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Conta os testes de cada status cujo fim cai no mês informado.
+   * @param tests Testes a serem contados.
+   * @param mes Mês de referência.
+   * @return Contagens por status.
+   */
+  public static StatusCounts countByStatus(Collection<Teste> tests, YearMonth mes) {
+    return countByStatus(tests, mes.atDay(1), mes.atEndOfMonth());
+  }
+
+  /**
+   * Coletor equivalente a countByStatus, para streams paralelos: cada parte
+   * conta no seu próprio acumulador e os acumuladores são somados no final.
+   * <pre>{@code
+   * StatusCounts counts = tests.parallelStream()
+   *   .collect(TestUtils.statusCounts(from, to));
+   * }</pre>
+   * @param from Primeiro dia do período.
+   * @param to Último dia do período.
+   * @return Coletor que produz as contagens por status.
+   */
+  public static Collector<Teste, StatusCounts, StatusCounts> statusCounts(
+    LocalDate from,
+    LocalDate to
+  ) {
+    return Collector.of(
+      StatusCounts::new,
+      (counts, test) -> {
+        if (isWithin(test.getFim(), from, to)) {
+          counts.add(test);
+        }
+      },
+      StatusCounts::combine,
+      Collector.Characteristics.UNORDERED,
+      Collector.Characteristics.IDENTITY_FINISH
+    );
+  }
+
   /**
    * Calcula o percentual de uma parte em relação ao total.
    * @param parte Valor parcial.
@@ -88,4 +261,33 @@ public class TestUtils {
   public static double percentual(int parte, int total) {
     return total > 0 ? (parte * 100.0) / total : 0.0;
   }
-}
\ No newline at end of file
+
+  /**
+   * Indica se a falha de integridade veio de uma chave primária ou única
+   * repetida, e não de outra restrição (tamanho de coluna, CHECK, NOT NULL).
+   * @param error Exceção lançada pelo banco ou já traduzida pelo Spring.
+   * @return true se alguma causa é uma violação de chave única.
+   */
+  public static boolean isUniqueViolation(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      // DuplicateKeyException: id repetido já no contexto de persistência
+      if (cause instanceof DuplicateKeyException) {
+        return true;
+      }
+      if (
+        cause instanceof SQLException sql &&
+        UNIQUE_VIOLATION.equals(sql.getSQLState())
+      ) {
+        return true;
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWithin(LocalDate fim, LocalDate from, LocalDate to) {
+    return !fim.isBefore(from) && !fim.isAfter(to);
+  }
+}
@@ -0,0 +1,55 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.wesley.backend.utils.TestUtils;
+
+/**
+ * Preenche o nome normalizado das linhas criadas antes da V2, com a mesma
+ * normalização das escritas da aplicação (que o SQL não consegue repetir,
+ * por causa dos acentos). Percorre a tabela por id em blocos.
+ */
+public class V3__BackfillNomeNormalizado extends BaseJavaMigration {
+
+  private static final int CHUNK_SIZE = 1000;
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    try (
+      PreparedStatement select = connection.prepareStatement(
+        "SELECT id, nome FROM teste " +
+        "WHERE id > ? AND nome IS NOT NULL AND nome_normalizado IS NULL " +
+        "ORDER BY id FETCH FIRST " + CHUNK_SIZE + " ROWS ONLY"
+      );
+      PreparedStatement update = connection.prepareStatement(
+        "UPDATE teste SET nome_normalizado = ? WHERE id = ?"
+      )
+    ) {
+      long after = 0;
+      int read;
+      do {
+        read = 0;
+        select.setLong(1, after);
+        try (ResultSet rows = select.executeQuery()) {
+          while (rows.next()) {
+            after = rows.getLong(1);
+            update.setString(1, TestUtils.normalizeName(rows.getString(2)));
+            update.setLong(2, after);
+            update.addBatch();
+            read++;
+          }
+        }
+        if (read > 0) {
+          update.executeBatch();
+        }
+      } while (read == CHUNK_SIZE);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+-- Schema inicial, equivalente ao que o Hibernate derivava das entidades,
+-- com status como varchar para rodar igual no H2 e no PostgreSQL.
+
+CREATE TABLE teste (
+  id BIGINT NOT NULL,
+  nome VARCHAR(255),
+  status VARCHAR(32),
+  fim DATE,
+  versao BIGINT,
+  CONSTRAINT pk_teste PRIMARY KEY (id),
+  CONSTRAINT ck_teste_status CHECK (status IN (
+    'EM_TESTE', 'TESTE_FINALIZADO', 'TESTE_EXPIRADO', 'ADQUIRIDO', 'RETIRADO'
+  ))
+);
+
+CREATE TABLE teste_estatistica (
+  ano_mes INTEGER NOT NULL,
+  status VARCHAR(32) NOT NULL,
+  total BIGINT NOT NULL,
+  CONSTRAINT pk_teste_estatistica PRIMARY KEY (ano_mes, status),
+  CONSTRAINT ck_teste_estatistica_status CHECK (status IN (
+    'EM_TESTE', 'TESTE_FINALIZADO', 'TESTE_EXPIRADO', 'ADQUIRIDO', 'RETIRADO'
+  ))
+);
+
+-- Listagens por status em ordem de id (página, stream, cursor por status)
+-- e filtro por status sozinho.
+CREATE INDEX idx_teste_status_id ON teste (status, id);
+
+-- Faixas de fim (estatísticas por período, varredura de expiração) e
+-- ordenação/cursor por fim.
+CREATE INDEX idx_teste_fim_id ON teste (fim, id);
+
+-- Status com faixa de fim (expurgo por status e fimBefore, retenção).
+CREATE INDEX idx_teste_status_fim ON teste (status, fim);
+
+-- Ordenação/cursor por nome.
+CREATE INDEX idx_teste_nome_id ON teste (nome, id);
@@ -0,0 +1,8 @@
+-- Nome normalizado (minúsculas, sem acentos) para a busca por prefixo em
+-- GET /v1/test/search. É preenchido pela aplicação a cada escrita; as linhas
+-- existentes são preenchidas pela V3.
+ALTER TABLE teste ADD COLUMN nome_normalizado VARCHAR(255);
+
+-- No PostgreSQL com collation diferente de C, o LIKE 'prefixo%' só usa um
+-- índice criado com varchar_pattern_ops.
+CREATE INDEX idx_teste_nome_normalizado_id ON teste (nome_normalizado, id);
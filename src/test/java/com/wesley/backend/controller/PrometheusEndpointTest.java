@@ -0,0 +1,71 @@
+package com.wesley.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Transactional
+public class PrometheusEndpointTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private TestRepository repository;
+
+  @Test
+  void deveExporMetricasDosEndpointsServicoERepositorio() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente teste")));
+    mockMvc.perform(get("/v1/test/status/em_teste")).andExpect(status().isOk());
+    mockMvc.perform(get("/v1/test")).andExpect(status().isOk());
+    mockMvc.perform(get("/v1/test/1")).andExpect(status().isOk());
+
+    String metricas = mockMvc
+      .perform(get("/actuator/prometheus"))
+      .andExpect(status().isOk())
+      .andReturn()
+      .getResponse()
+      .getContentAsString();
+
+    assertThat(metricas)
+      .contains("http_server_requests_seconds_bucket{")
+      .contains("uri=\"/v1/test/status/{status}\"")
+      .contains("teste_service_seconds_bucket{")
+      .contains("method=\"findAllByStatus\"")
+      .contains("spring_data_repository_invocations_seconds_bucket{")
+      .contains("repository=\"TestRepository\"")
+      .contains("teste_result_size_testes_count{method=\"findAllByStatus\"}")
+      .contains("hibernate_entities_loads_total")
+      .contains("hikaricp_connections_acquire_seconds_bucket")
+      .contains("cache_gets_total{cache=\"teste\"");
+    // a listagem por status é transmitida e ainda assim entra na métrica
+    String quantidade =
+      "teste_result_size_testes_sum{method=\"findAllByStatus\"}";
+    assertThat(valor(metricas, quantidade)).isGreaterThanOrEqualTo(1.0);
+  }
+
+  private static double valor(String metricas, String serie) {
+    return metricas
+      .lines()
+      .filter(linha -> linha.startsWith(serie + " "))
+      .mapToDouble(linha ->
+        Double.parseDouble(linha.substring(serie.length() + 1))
+      )
+      .findFirst()
+      .orElseThrow();
+  }
+}
@@ -0,0 +1,48 @@
+package com.wesley.backend.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.transaction.Transactional;
+
+@SpringBootTest(properties = "teste.compat.empty-status-not-found=false")
+@AutoConfigureMockMvc
+@Transactional
+public class TestControllerEmptyStatusTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void deveRetornarListaVaziaParaStatusSemTestes() throws Exception {
+    mockMvc
+      .perform(get("/v1/test/status/ADQUIRIDO"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.ok").value(true))
+      .andExpect(jsonPath("$.data.length()").value(0));
+  }
+
+  @Test
+  void deveRetornarPaginaVaziaParaStatusSemTestes() throws Exception {
+    mockMvc
+      .perform(get("/v1/test/status/ADQUIRIDO").param("page", "0"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.length()").value(0))
+      .andExpect(jsonPath("$.totalElements").value(0));
+  }
+
+  @Test
+  void deveManterOErroParaStatusInvalido() throws Exception {
+    mockMvc
+      .perform(get("/v1/test/status/DESCONHECIDO"))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.ok").value(false));
+  }
+}
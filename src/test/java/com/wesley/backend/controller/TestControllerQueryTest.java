@@ -0,0 +1,286 @@
+package com.wesley.backend.controller;
+
+import static com.wesley.backend.sql.QueryAssert.assertThatQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusBatchDto;
+import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestCacheService;
+import com.wesley.backend.service.TestService;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Contratos de acesso ao banco de cada endpoint: quantos statements cada
+ * requisição pode emitir e quantas linhas pode ler. Pega regressões como
+ * N+1 e leituras da tabela inteira, que os testes funcionais não veem.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TestControllerQueryTest {
+
+  private static final int TESTES = 30;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private TestRepository repository;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestCacheService cache;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @BeforeEach
+  void popular() {
+    cache.evictAll();
+    // cria pelo serviço o primeiro teste, para que a linha do contador do
+    // mês já exista e não entre na conta das escritas
+    service.createTest(new TestDto(1L, "teste1"));
+    List<Teste> testes = new ArrayList<>();
+    for (long id = 2; id <= TESTES; id++) {
+      testes.add(new Teste(new TestDto(id, "teste" + id)));
+    }
+    repository.saveAll(testes);
+    repository.flush();
+    // sem isso as leituras seriam servidas pelo contexto de persistência
+    entityManager.clear();
+  }
+
+  private String json(Object body) throws Exception {
+    return objectMapper.writeValueAsString(body);
+  }
+
+  @Test
+  void listagemPaginadaFazSelectECountLendoSoAPagina() throws Exception {
+    assertThatQueries(() ->
+      mockMvc
+        .perform(get("/v1/test").param("size", "10"))
+        .andExpect(status().isOk())
+    )
+      .hasAtMostStatements(2)
+      .hasReadAtMostRows(11);
+  }
+
+  @Test
+  void listagemPorCursorFazUmSelectSemCount() throws Exception {
+    assertThatQueries(() ->
+      mockMvc
+        .perform(get("/v1/test").param("after", "").param("size", "10"))
+        .andExpect(status().isOk())
+    )
+      .hasStatements(1)
+      .hasReadAtMostRows(11);
+  }
+
+  @Test
+  void listagemPorStatusPaginadaLeSoAPagina() throws Exception {
+    assertThatQueries(() ->
+      mockMvc
+        .perform(get("/v1/test/status/em_teste").param("page", "0"))
+        .andExpect(status().isOk())
+    )
+      .hasAtMostStatements(2)
+      .hasReadAtMostRows(11);
+  }
+
+  @Test
+  void listagemPorStatusFazUmSelect() throws Exception {
+    assertThatQueries(() ->
+      mockMvc
+        .perform(get("/v1/test/status/em_teste"))
+        .andExpect(status().isOk())
+    )
+      .hasStatements(1)
+      .hasReadAtMostRows(TESTES);
+  }
+
+  @Test
+  void buscaPorIdVaiAoBancoSoNaPrimeiraVez() throws Exception {
+    assertThatQueries(() ->
+      mockMvc.perform(get("/v1/test/5")).andExpect(status().isOk())
+    )
+      .hasStatements(1)
+      .hasReadAtMostRows(1);
+    assertThatQueries(() ->
+      mockMvc.perform(get("/v1/test/5")).andExpect(status().isOk())
+    ).hasStatements(0);
+  }
+
+  @Test
+  void estatisticasDoMesNaoConsultamOBanco() throws Exception {
+    assertThatQueries(() ->
+      mockMvc.perform(get("/v1/test/statistics")).andExpect(status().isOk())
+    ).hasStatements(0);
+  }
+
+  @Test
+  void estatisticasPorPeriodoFazemUmaAgregacao() throws Exception {
+    LocalDate hoje = LocalDate.now();
+    assertThatQueries(() ->
+      mockMvc
+        .perform(
+          get("/v1/test/statistics")
+            .param("from", hoje.toString())
+            .param("to", hoje.plusDays(10).toString())
+        )
+        .andExpect(status().isOk())
+    )
+      .hasStatements(1)
+      .hasReadAtMostRows(11 * TestEnum.values().length);
+  }
+
+  @Test
+  void requisicaoCondicionalNaoConsultaOBanco() throws Exception {
+    String etag = mockMvc
+      .perform(get("/v1/test"))
+      .andReturn()
+      .getResponse()
+      .getHeader("ETag");
+
+    assertThatQueries(() ->
+      mockMvc
+        .perform(get("/v1/test").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+    ).hasStatements(0);
+  }
+
+  @Test
+  void criacaoFazInsertEAtualizaOContador() throws Exception {
+    assertThatQueries(() ->
+      mockMvc
+        .perform(
+          post("/v1/test")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json(new TestDto(100L, "novo")))
+        )
+        .andExpect(status().isOk())
+    ).hasStatements(2);
+  }
+
+  @Test
+  void criacaoEmLoteUsaUmInsertEmLote() throws Exception {
+    List<TestDto> lote = LongStream.rangeClosed(101, 200)
+      .mapToObj(id -> new TestDto(id, "lote" + id))
+      .toList();
+
+    // busca dos ids existentes, lote de inserts e contador do mês
+    assertThatQueries(() ->
+      mockMvc
+        .perform(
+          post("/v1/test/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json(lote))
+        )
+        .andExpect(status().isOk())
+    ).hasStatements(3);
+  }
+
+  @Test
+  void atualizacaoLeUmaVezEGravaUmaVez() throws Exception {
+    assertThatQueries(() -> {
+      mockMvc
+        .perform(
+          put("/v1/test/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json(new UpdateTestDto(5L, "renomeado", null)))
+        )
+        .andExpect(status().isOk());
+      repository.flush();
+    })
+      .hasStatements(2)
+      .hasReadAtMostRows(1);
+  }
+
+  @Test
+  void atualizacaoDeStatusFazUpdateCondicional() throws Exception {
+    // a primeira mudança para o status cria a linha do contador
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
+
+    // leitura, UPDATE condicional e os dois contadores
+    assertThatQueries(() ->
+      mockMvc
+        .perform(
+          put("/v1/test/update-status")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json(new UpdateTestStatusDto(5L, TestEnum.ADQUIRIDO)))
+        )
+        .andExpect(status().isOk())
+    )
+      .hasStatements(4)
+      .hasReadAtMostRows(1);
+  }
+
+  @Test
+  void atualizacaoDeStatusEmLoteNaoCrescePorTeste() throws Exception {
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.RETIRADO));
+    List<Long> ids = LongStream.rangeClosed(2, TESTES).boxed().toList();
+
+    // leitura com bloqueio, UPDATE em lote e os contadores de origem e destino
+    assertThatQueries(() ->
+      mockMvc
+        .perform(
+          put("/v1/test/update-status/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json(new UpdateTestStatusBatchDto(ids, TestEnum.RETIRADO)))
+        )
+        .andExpect(status().isOk())
+    )
+      .hasStatements(4)
+      .hasReadAtMostRows(TESTES);
+  }
+
+  @Test
+  void remocaoLeOEstadoEApagaSemCarregarAEntidade() throws Exception {
+    assertThatQueries(() ->
+      mockMvc
+        .perform(delete("/v1/test/delete/5"))
+        .andExpect(status().isOk())
+    )
+      .hasStatements(3)
+      .hasReadAtMostRows(1);
+  }
+
+  @Test
+  void remocaoPorCriterioNaoCrescePorTeste() throws Exception {
+    // um bloco: leitura com bloqueio, DELETE em lote, contador; e a leitura
+    // vazia que encerra o expurgo
+    assertThatQueries(() ->
+      mockMvc
+        .perform(delete("/v1/test").param("status", "em_teste"))
+        .andExpect(status().isOk())
+    )
+      .hasAtMostStatements(4)
+      .hasReadAtMostRows(TESTES);
+  }
+}
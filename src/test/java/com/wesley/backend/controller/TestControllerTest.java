@@ -5,17 +5,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wesley.backend.dto.TestDto;
 import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusBatchDto;
 import com.wesley.backend.dto.UpdateTestStatusDto;
 import com.wesley.backend.enums.TestEnum;
 import com.wesley.backend.models.Teste;
@@ -24,6 +33,10 @@ import com.wesley.backend.service.TestService;
 
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
@@ -55,6 +68,81 @@ public class TestControllerTest {
       .andExpect(jsonPath("$.data[1].nome").value("Cliente teste2"));
   }
 
+  @Test
+  void deveListarTodosOsTestesPorCursor() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Carlos")));
+    repository.save(new Teste(new TestDto(2L, "Ana")));
+    repository.save(new Teste(new TestDto(3L, "Bruno")));
+
+    String resposta = mockMvc
+      .perform(get("/v1/test").param("after", "").param("size", "2").param("sort", "nome"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[0].nome").value("Ana"))
+      .andExpect(jsonPath("$.data[1].nome").value("Bruno"))
+      .andExpect(jsonPath("$.hasNext").value(true))
+      .andExpect(jsonPath("$.totalElements").doesNotExist())
+      .andReturn()
+      .getResponse()
+      .getContentAsString();
+    String cursor = objectMapper.readTree(resposta).get("nextCursor").asText();
+
+    mockMvc
+      .perform(
+        get("/v1/test")
+          .param("after", cursor)
+          .param("size", "2")
+          .param("sort", "nome")
+          .param("count", "true")
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.length()").value(1))
+      .andExpect(jsonPath("$.data[0].nome").value("Carlos"))
+      .andExpect(jsonPath("$.hasNext").value(false))
+      .andExpect(jsonPath("$.nextCursor").doesNotExist())
+      .andExpect(jsonPath("$.totalElements").value(3));
+  }
+
+  @Test
+  void devePaginarPorStatusComOStatusGravadoNoCursor() throws Exception {
+    // vencido, mas ainda não passou pela varredura: gravado como EM_TESTE
+    Teste vencido = new Teste(new TestDto(1L, "vencido"));
+    vencido.setFim(LocalDate.now().minusDays(1));
+    repository.save(vencido);
+    repository.save(new Teste(new TestDto(2L, "ativo")));
+    Teste retirado = new Teste(new TestDto(3L, "retirado"));
+    retirado.setStatus(TestEnum.RETIRADO);
+    repository.save(retirado);
+
+    List<Long> ids = new ArrayList<>();
+    String cursor = "";
+    do {
+      String resposta = mockMvc
+        .perform(
+          get("/v1/test").param("after", cursor).param("size", "1").param("sort", "status")
+        )
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+      JsonNode pagina = objectMapper.readTree(resposta);
+      pagina.get("data").forEach(teste -> ids.add(teste.get("id").asLong()));
+      if (ids.size() == 1) {
+        assertEquals("TESTE_EXPIRADO", pagina.get("data").get(0).get("status").asText());
+      }
+      cursor = pagina.hasNonNull("nextCursor") ? pagina.get("nextCursor").asText() : null;
+    } while (cursor != null);
+
+    assertEquals(List.of(1L, 2L, 3L), ids);
+  }
+
+  @Test
+  void deveRetornarBadRequestParaCursorInvalido() throws Exception {
+    mockMvc
+      .perform(get("/v1/test").param("after", "invalido").param("sort", "nome"))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.error").value("Cursor inválido: invalido"));
+  }
+
   @Test
   void deveListarTodosOsTestesPeloStatus() throws Exception {
     Teste teste = repository.save(new Teste(new TestDto(1L, "Cliente teste")));
@@ -72,10 +160,85 @@ public class TestControllerTest {
       .andExpect(jsonPath("$.data[1].nome").value("Cliente teste3"));
   }
 
+  @Test
+  void deveListarOsTestesPeloStatusPaginados() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente teste")));
+    repository.save(new Teste(new TestDto(2L, "Cliente teste2")));
+    repository.save(new Teste(new TestDto(3L, "Cliente teste3")));
+
+    mockMvc
+      .perform(get("/v1/test/status/EM_TESTE").param("page", "1").param("size", "2"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.length()").value(1))
+      .andExpect(jsonPath("$.data[0].nome").value("Cliente teste3"))
+      .andExpect(jsonPath("$.totalElements").value(3))
+      .andExpect(jsonPath("$.totalPages").value(2));
+  }
+
+  @Test
+  void deveEscreverPaginasGrandesItemAItemNoMesmoFormato() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente teste")));
+    repository.save(new Teste(new TestDto(2L, "Cliente teste2")));
+
+    mockMvc
+      .perform(get("/v1/test").param("size", "500"))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.ok").value(true))
+      .andExpect(jsonPath("$.data.length()").value(2))
+      .andExpect(jsonPath("$.data[1].nome").value("Cliente teste2"))
+      .andExpect(jsonPath("$.size").value(500))
+      .andExpect(jsonPath("$.totalElements").value(2))
+      .andExpect(jsonPath("$.totalPages").value(1));
+  }
+
+  @Test
+  void deveRetornarNotFoundParaStatusSemTestes() throws Exception {
+    mockMvc
+      .perform(get("/v1/test/status/ADQUIRIDO"))
+      .andExpect(status().isNotFound())
+      .andExpect(
+        jsonPath("$.error")
+          .value("Nenhum teste encontrado com o status: ADQUIRIDO")
+      );
+  }
+
+  @Test
+  @Transactional(Transactional.TxType.NOT_SUPPORTED)
+  void deveTransmitirOsTestesPeloStatusEmNdjson() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente teste")));
+    repository.save(new Teste(new TestDto(2L, "Cliente teste2")));
+    try {
+      MvcResult resultado = mockMvc
+        .perform(
+          get("/v1/test/status/EM_TESTE").accept("application/x-ndjson")
+        )
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+      String corpo = mockMvc
+        .perform(asyncDispatch(resultado))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+      String[] linhas = corpo.split("\n");
+      assertEquals(2, linhas.length);
+      assertEquals(
+        "Cliente teste2",
+        objectMapper.readTree(linhas[1]).get("nome").asText()
+      );
+    } finally {
+      repository.deleteAllById(List.of(1L, 2L));
+    }
+  }
+
   @Test
   void deveRetornarAsEstatisticas() throws Exception {
-    Teste teste = repository.save(new Teste(new TestDto(1L, "Teste")));
-    Teste teste1 = repository.save(new Teste(new TestDto(2L, "Teste1")));
+    Teste teste = service.createTest(new TestDto(1L, "Teste"));
+    Teste teste1 = service.createTest(new TestDto(2L, "Teste1"));
 
     service.updateTestStatus(
       new UpdateTestStatusDto(teste.getId(), TestEnum.ADQUIRIDO)
@@ -83,16 +246,61 @@ public class TestControllerTest {
     service.updateTestStatus(
       new UpdateTestStatusDto(teste1.getId(), TestEnum.RETIRADO)
     );
+    // os contadores só recebem as escritas depois do commit
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    try {
+      mockMvc
+        .perform(get("/v1/test/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[0].totalTestsByMonth").value(2))
+        .andExpect(jsonPath("$.data[0].acquired").value(1))
+        .andExpect(jsonPath("$.data[0].withdrawn").value(1))
+        .andExpect(jsonPath("$.data[0].percentualAcquired").value(50))
+        .andExpect(jsonPath("$.data[0].percentualWithdrawn").value(50))
+        .andExpect(jsonPath("$.data[0].rateOfAcquired").value(50));
+    } finally {
+      service.deleteTest(1L);
+      service.deleteTest(2L);
+    }
+  }
+
+  @Test
+  void deveRetornarAsEstatisticasPorPeriodo() throws Exception {
+    Teste teste = service.createTest(new TestDto(1L, "Teste"));
+    service.updateTestStatus(
+      new UpdateTestStatusDto(teste.getId(), TestEnum.ADQUIRIDO)
+    );
 
     mockMvc
-      .perform(get("/v1/test/statistics"))
+      .perform(
+        get("/v1/test/statistics")
+          .param("from", teste.getFim().minusDays(1).toString())
+          .param("to", teste.getFim().toString())
+          .param("bucket", "day")
+      )
       .andExpect(status().isOk())
-      .andExpect(jsonPath("$.data[0].totalTestsByMonth").value(2))
-      .andExpect(jsonPath("$.data[0].acquired").value(1))
-      .andExpect(jsonPath("$.data[0].withdrawn").value(1))
-      .andExpect(jsonPath("$.data[0].percentualAcquired").value(50))
-      .andExpect(jsonPath("$.data[0].percentualWithdrawn").value(50))
-      .andExpect(jsonPath("$.data[0].rateOfAcquired").value(50));
+      .andExpect(jsonPath("$.data.length()").value(2))
+      .andExpect(jsonPath("$.data[0].total").value(0))
+      .andExpect(jsonPath("$.data[1].inicio").value(teste.getFim().toString()))
+      .andExpect(jsonPath("$.data[1].acquired").value(1))
+      .andExpect(jsonPath("$.data[1].rateOfAcquired").value(100));
+  }
+
+  @Test
+  void deveRetornarBadRequestParaAgrupamentoInvalido() throws Exception {
+    mockMvc
+      .perform(
+        get("/v1/test/statistics")
+          .param("from", "2025-01-01")
+          .param("to", "2025-01-31")
+          .param("bucket", "year")
+      )
+      .andExpect(status().isBadRequest())
+      .andExpect(
+        jsonPath("$.error").value("Agrupamento de estatísticas inválido: year")
+      );
   }
 
   @Test
@@ -109,7 +317,36 @@ public class TestControllerTest {
       .andExpect(jsonPath("$.data[0].id").value(1))
       .andExpect(jsonPath("$.data[0].nome").value("teste"))
       .andExpect(jsonPath("$.data[0].status").value("EM_TESTE"))
-      .andExpect(jsonPath("$.data[0].fim").value("2025-06-21"));
+      .andExpect(jsonPath("$.data[0].fim").value(LocalDate.now().plusDays(4).toString()));
+  }
+
+  @Test
+  void deveRetornarConflitoAoCriarTesteComIdExistente() throws Exception {
+    service.createTest(new TestDto(1L, "original"));
+
+    mockMvc
+      .perform(
+        post("/v1/test")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(new TestDto(1L, "outro")))
+      )
+      .andExpect(status().isConflict())
+      .andExpect(jsonPath("$.error").value("Já existe um teste com este ID."));
+  }
+
+  @Test
+  void deveRetornarConflitoGenericoParaOutrasViolacoesAoCriarTeste()
+    throws Exception {
+    String nomeLongo = "a".repeat(256);
+
+    mockMvc
+      .perform(
+        post("/v1/test")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(new TestDto(1L, nomeLongo)))
+      )
+      .andExpect(status().isConflict())
+      .andExpect(jsonPath("$.error").value("Conflito com dados existentes."));
   }
 
   @Test
@@ -149,6 +386,66 @@ public class TestControllerTest {
       .andExpect(jsonPath("$.data[0].status").value("ADQUIRIDO"));
   }
 
+  @Test
+  void deveAtualizarOStatusDeVariosTestes() throws Exception {
+    service.createTest(new TestDto(1L, "teste"));
+    service.createTest(new TestDto(2L, "teste1"));
+    service.createTest(new TestDto(3L, "teste2"));
+    service.updateTestStatus(new UpdateTestStatusDto(3L, TestEnum.RETIRADO));
+    UpdateTestStatusBatchDto lote = new UpdateTestStatusBatchDto(
+      List.of(1L, 2L, 3L, 99L, 1L),
+      TestEnum.ADQUIRIDO
+    );
+
+    mockMvc
+      .perform(
+        put("/v1/test/update-status/batch")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(lote))
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[0].updated.length()").value(2))
+      .andExpect(jsonPath("$.data[0].updated[0]").value(1))
+      .andExpect(jsonPath("$.data[0].updated[1]").value(2))
+      .andExpect(jsonPath("$.data[0].notFound[0]").value(99))
+      .andExpect(jsonPath("$.data[0].rejected[0]").value(3));
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    try {
+      mockMvc
+        .perform(get("/v1/test/statistics"))
+        .andExpect(jsonPath("$.data[0].totalTestsByMonth").value(3))
+        .andExpect(jsonPath("$.data[0].acquired").value(2))
+        .andExpect(jsonPath("$.data[0].withdrawn").value(1));
+    } finally {
+      service.deleteTest(1L);
+      service.deleteTest(2L);
+      service.deleteTest(3L);
+    }
+  }
+
+  @Test
+  void deveRejeitarStatusInvalidoNaAtualizacaoEmLote() throws Exception {
+    UpdateTestStatusBatchDto lote = new UpdateTestStatusBatchDto(
+      List.of(1L),
+      TestEnum.EM_TESTE
+    );
+
+    mockMvc
+      .perform(
+        put("/v1/test/update-status/batch")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(lote))
+      )
+      .andExpect(status().isBadRequest())
+      .andExpect(
+        jsonPath("$.error").value(
+          "O status deve ser ADQUIRIDO ou RETIRADO para atualizar o teste."
+        )
+      );
+  }
+
   @Test
   void deveDeletarUmTeste() throws Exception {
     Teste teste = repository.save(new Teste(new TestDto(1L, "Teste")));
@@ -158,6 +455,94 @@ public class TestControllerTest {
       .andExpect(status().isOk());
   }
 
+  @Test
+  void deveResponderNotModifiedQuandoAEtagNaoMudou() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente teste")));
+
+    for (String url : List.of(
+      "/v1/test",
+      "/v1/test/status/em_teste",
+      "/v1/test/statistics"
+    )) {
+      String etag = mockMvc
+        .perform(get(url))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn()
+        .getResponse()
+        .getHeader("ETag");
+
+      mockMvc
+        .perform(get(url).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    }
+  }
+
+  @Test
+  void deveBuscarUmTestePeloId() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente teste")));
+
+    mockMvc
+      .perform(get("/v1/test/1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[0].nome").value("Cliente teste"));
+    mockMvc
+      .perform(get("/v1/test/99"))
+      .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void deveRetornarNotFoundAoDeletarTesteInexistente() throws Exception {
+    mockMvc
+      .perform(delete("/v1/test/delete/99"))
+      .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void deveRemoverTestesPorStatusEFim() throws Exception {
+    LocalDate hoje = LocalDate.now();
+    Teste antigo = new Teste(new TestDto(1L, "Antigo"));
+    antigo.setFim(hoje.minusDays(10));
+    antigo.setStatus(TestEnum.TESTE_EXPIRADO);
+    repository.save(antigo);
+    Teste recente = new Teste(new TestDto(2L, "Recente"));
+    recente.setFim(hoje.minusDays(1));
+    recente.setStatus(TestEnum.TESTE_EXPIRADO);
+    repository.save(recente);
+    repository.save(new Teste(new TestDto(3L, "Em teste")));
+
+    mockMvc
+      .perform(
+        delete("/v1/test")
+          .param("status", "teste_expirado")
+          .param("fimBefore", hoje.minusDays(5).toString())
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[0].removed").value(1))
+      .andExpect(jsonPath("$.data[0].chunks").value(1));
+
+    List<Long> restantes = repository
+      .findAll()
+      .stream()
+      .map(Teste::getId)
+      .sorted()
+      .toList();
+    assertEquals(List.of(2L, 3L), restantes);
+  }
+
+  @Test
+  void deveRetornarBadRequestAoRemoverSemCriterios() throws Exception {
+    mockMvc
+      .perform(delete("/v1/test"))
+      .andExpect(status().isBadRequest())
+      .andExpect(
+        jsonPath("$.error").value(
+          "Informe status e/ou fimBefore para remover testes."
+        )
+      );
+  }
+
   @Test
   void deveRetornarBadRequestCasoIdOuNomeSejaNulo() throws Exception {
     TestDto teste = new TestDto(null, "teste");
@@ -222,4 +607,27 @@ public class TestControllerTest {
         )
       );
   }
+
+  @Test
+  void deveBuscarTestesPeloPrefixoDoNome() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Érica Souza")));
+    repository.save(new Teste(new TestDto(2L, "Erick Lima")));
+    repository.save(new Teste(new TestDto(3L, "Pedro Lima")));
+
+    mockMvc
+      .perform(get("/v1/test/search").param("q", "eri").param("limit", "5"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.ok").value(true))
+      .andExpect(jsonPath("$.data.length()").value(2))
+      .andExpect(jsonPath("$.data[0].nome").value("Érica Souza"))
+      .andExpect(jsonPath("$.data[1].nome").value("Erick Lima"));
+  }
+
+  @Test
+  void deveRejeitarBuscaSemTermo() throws Exception {
+    mockMvc
+      .perform(get("/v1/test/search").param("q", " "))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.error").value("Informe o termo de busca."));
+  }
 }
@@ -0,0 +1,83 @@
+package com.wesley.backend.exceptions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.ResponseDto;
+
+public class GlobalExceptionHandlerTest {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder
+    .json()
+    .build();
+
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler(
+    objectMapper
+  );
+
+  @Test
+  void deveGerarOMesmoCorpoQueOResponseDto() throws Exception {
+    String message = "Nenhum teste encontrado com o status: ADQUIRIDO";
+
+    ResponseEntity<byte[]> response = handler.handleNotFound(
+      new NotFoundException(message)
+    );
+
+    assertEquals(404, response.getStatusCode().value());
+    assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    assertArrayEquals(
+      objectMapper.writeValueAsBytes(ResponseDto.error(message)),
+      response.getBody()
+    );
+  }
+
+  @Test
+  void deveReaproveitarOCorpoSerializadoDaMesmaMensagem() {
+    byte[] first = handler
+      .handleInvalidTestStatus(new InvalidTestStatusException("inválido"))
+      .getBody();
+    byte[] second = handler
+      .handleInvalidTestStatus(new InvalidTestStatusException("inválido"))
+      .getBody();
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void deveSerializarMensagemNula() throws Exception {
+    assertArrayEquals(
+      objectMapper.writeValueAsBytes(ResponseDto.error(null)),
+      handler.body(null)
+    );
+  }
+
+  @Test
+  void deveResponderConflitoQuandoAsTentativasSeEsgotam() {
+    ResponseEntity<byte[]> esgotadas = handler.handleConcurrentTestModification(
+      new ConcurrentTestModificationException()
+    );
+    ResponseEntity<byte[]> lockOtimista = handler.handleOptimisticLockingFailure(
+      new OptimisticLockingFailureException("versão")
+    );
+
+    assertEquals(409, esgotadas.getStatusCode().value());
+    assertEquals(409, lockOtimista.getStatusCode().value());
+    assertSame(lockOtimista.getBody(), esgotadas.getBody());
+  }
+
+  @Test
+  void deveCriarExcecoesDeDominioSemStackTrace() {
+    DomainException ex = new TestModificationException("finalizado");
+
+    assertEquals(0, ex.getStackTrace().length);
+    assertEquals("finalizado", ex.getMessage());
+  }
+}
@@ -0,0 +1,75 @@
+package com.wesley.backend.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ConcurrencyLimitFilterTest {
+
+  private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+    1,
+    Duration.ofMillis(50),
+    new ObjectMapper()
+  );
+
+  private MockHttpServletRequest request() {
+    return new MockHttpServletRequest("GET", "/v1/test");
+  }
+
+  @Test
+  void deveRecusarComServiceUnavailableQuandoNaoHaVaga() throws Exception {
+    CountDownLatch executando = new CountDownLatch(1);
+    CountDownLatch liberar = new CountDownLatch(1);
+    CompletableFuture<Void> ocupada = CompletableFuture.runAsync(() -> {
+      try {
+        filter.doFilter(
+          request(),
+          new MockHttpServletResponse(),
+          (req, res) -> {
+            executando.countDown();
+            try {
+              liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        );
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertThat(executando.await(5, TimeUnit.SECONDS)).isTrue();
+
+    MockHttpServletResponse recusada = new MockHttpServletResponse();
+    filter.doFilter(request(), recusada, (req, res) -> {});
+
+    assertThat(recusada.getStatus()).isEqualTo(503);
+    assertThat(recusada.getContentAsString()).contains("Servidor ocupado");
+
+    liberar.countDown();
+    ocupada.get(5, TimeUnit.SECONDS);
+    MockHttpServletResponse aceita = new MockHttpServletResponse();
+    filter.doFilter(request(), aceita, (req, res) -> {});
+    assertThat(aceita.getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void naoDeveLimitarRequisicoesForaDaApi() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(
+      new MockHttpServletRequest("GET", "/swagger-ui.html"),
+      response,
+      (req, res) -> {}
+    );
+
+    assertThat(response.getStatus()).isEqualTo(200);
+  }
+}
@@ -0,0 +1,156 @@
+package com.wesley.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wesley.backend.enums.TestEnum;
+
+/**
+ * Confere, pelo EXPLAIN do H2, que as consultas mais frequentes usam os
+ * índices criados pelas migrações em vez de varrer a tabela. O SQL segue o
+ * que o Hibernate gera para os métodos do TestRepository.
+ */
+@DataJpaTest
+public class SchemaIndexTest {
+
+  private static final int ROWS = 5_000;
+
+  @Autowired
+  private JdbcTemplate jdbc;
+
+  @BeforeEach
+  void setUp() {
+    TestEnum[] statuses = TestEnum.values();
+    LocalDate hoje = LocalDate.now();
+    List<Object[]> rows = new ArrayList<>(ROWS);
+    for (int i = 1; i <= ROWS; i++) {
+      rows.add(
+        new Object[] {
+          (long) i,
+          "Cliente " + i,
+          "Cliente " + i,
+          statuses[i % statuses.length].name(),
+          Date.valueOf(hoje.minusDays(i % 400)),
+        }
+      );
+    }
+    jdbc.batchUpdate(
+      "INSERT INTO teste (id, nome, nome_normalizado, status, fim, versao) " +
+      "VALUES (?, ?, LOWER(?), ?, ?, 0)",
+      rows
+    );
+  }
+
+  @Test
+  void deveListarPorStatusPeloIndice() {
+    String plan = explain(
+      "SELECT id, nome, status, fim FROM teste WHERE status = 'EM_TESTE' " +
+      "ORDER BY id OFFSET 100 ROWS FETCH FIRST 100 ROWS ONLY"
+    );
+
+    // o H2 ainda ordena o resultado, mas lê só as linhas do status
+    assertThat(plan).contains("IDX_TESTE_STATUS_ID");
+  }
+
+  @Test
+  void deveContarPorStatusPeloIndice() {
+    String plan = explain(
+      "SELECT COUNT(id) FROM teste WHERE status = 'EM_TESTE'"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_STATUS_ID");
+  }
+
+  @Test
+  void deveContarPorStatusNoPeriodoPeloIndiceDeFim() {
+    String plan = explain(
+      "SELECT status, COUNT(id) FROM teste " +
+      "WHERE fim >= DATE '2025-01-01' AND fim < DATE '2025-02-01' " +
+      "GROUP BY status"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_FIM_ID");
+  }
+
+  @Test
+  void deveBuscarTestesAExpirarPeloIndiceDeFim() {
+    String plan = explain(
+      "SELECT id, status, fim FROM teste " +
+      "WHERE fim < DATE '2024-01-01' " +
+      "AND status NOT IN ('TESTE_EXPIRADO', 'ADQUIRIDO', 'RETIRADO') " +
+      "ORDER BY id FETCH FIRST 1000 ROWS ONLY"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_FIM_ID");
+  }
+
+  @Test
+  void deveBuscarTestesAExpurgarPeloIndiceDeStatusEFim() {
+    String plan = explain(
+      "SELECT id, status, fim FROM teste " +
+      "WHERE status IN ('TESTE_EXPIRADO', 'RETIRADO') " +
+      "AND fim < DATE '2024-01-01' " +
+      "ORDER BY id FETCH FIRST 1000 ROWS ONLY"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_STATUS_FIM");
+  }
+
+  @Test
+  void deveOrdenarPorNomePeloIndice() {
+    String plan = explain(
+      "SELECT id, nome, status, fim FROM teste " +
+      "ORDER BY nome FETCH FIRST 100 ROWS ONLY"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_NOME_ID").contains("index sorted");
+  }
+
+  @Test
+  void deveOrdenarPorFimPeloIndice() {
+    String plan = explain(
+      "SELECT id, nome, status, fim FROM teste " +
+      "ORDER BY fim, id FETCH FIRST 100 ROWS ONLY"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_FIM_ID").contains("index sorted");
+  }
+
+  @Test
+  void deveOrdenarPorStatusPeloIndice() {
+    String plan = explain(
+      "SELECT id, nome, status, fim FROM teste " +
+      "ORDER BY status, id FETCH FIRST 100 ROWS ONLY"
+    );
+
+    assertThat(plan).contains("IDX_TESTE_STATUS_ID").contains("index sorted");
+  }
+
+  @Test
+  void deveBuscarPorPrefixoDoNomePeloIndiceNormalizado() {
+    String plan = jdbc.queryForObject(
+      "EXPLAIN SELECT id, nome, status, fim FROM teste " +
+      "WHERE nome_normalizado LIKE ? ESCAPE '\\' " +
+      "ORDER BY nome_normalizado, id FETCH FIRST 20 ROWS ONLY",
+      String.class,
+      "cliente 12%"
+    );
+
+    assertThat(plan)
+      .contains("IDX_TESTE_NOME_NORMALIZADO_ID")
+      .contains("index sorted");
+  }
+
+  private String explain(String sql) {
+    return jdbc.queryForObject("EXPLAIN " + sql, String.class);
+  }
+}
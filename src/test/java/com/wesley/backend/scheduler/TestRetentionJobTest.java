@@ -0,0 +1,58 @@
+package com.wesley.backend.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wesley.backend.dto.PurgeResultDto;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+  properties = {
+    "teste.retencao.enabled=true",
+    "teste.retencao.dias=30",
+    "teste.retencao.status=TESTE_EXPIRADO,RETIRADO",
+    "teste.batch.chunk-size=2",
+    "teste.purge.pause-ms=0",
+  }
+)
+@Transactional
+public class TestRetentionJobTest {
+
+  @Autowired
+  private TestRetentionJob job;
+
+  @Autowired
+  private TestRepository repository;
+
+  private Teste salvar(Long id, LocalDate fim, TestEnum status) {
+    Teste teste = new Teste(new TestDto(id, "teste" + id));
+    teste.setFim(fim);
+    teste.setStatus(status);
+    return repository.save(teste);
+  }
+
+  @Test
+  void deveRemoverEmBlocosOsTestesForaDoPeriodoDeRetencao() {
+    LocalDate hoje = LocalDate.now();
+    salvar(1L, hoje.minusDays(60), TestEnum.TESTE_EXPIRADO);
+    salvar(2L, hoje.minusDays(45), TestEnum.RETIRADO);
+    salvar(3L, hoje.minusDays(31), TestEnum.TESTE_EXPIRADO);
+    salvar(4L, hoje.minusDays(10), TestEnum.TESTE_EXPIRADO);
+    salvar(5L, hoje.minusDays(60), TestEnum.ADQUIRIDO);
+
+    PurgeResultDto result = job.purge(hoje);
+
+    assertThat(result.removed()).isEqualTo(3);
+    assertThat(result.chunks()).isEqualTo(2);
+    assertThat(repository.findAll())
+      .extracting(Teste::getId)
+      .containsExactlyInAnyOrder(4L, 5L);
+  }
+}
@@ -0,0 +1,73 @@
+package com.wesley.backend.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "teste.sweeper.chunk-size=2")
+@Transactional
+public class TestStatusSweeperTest {
+
+  @Autowired
+  private TestStatusSweeper sweeper;
+
+  @Autowired
+  private TestRepository repository;
+
+  private Teste salvar(Long id, LocalDate fim, TestEnum status) {
+    Teste teste = new Teste(new TestDto(id, "teste" + id));
+    teste.setFim(fim);
+    teste.setStatus(status);
+    return repository.save(teste);
+  }
+
+  @Test
+  void devePersistirAsTransicoesDeStatusEmLote() {
+    LocalDate hoje = LocalDate.now();
+    salvar(1L, hoje.minusDays(3), TestEnum.EM_TESTE);
+    salvar(2L, hoje.minusDays(1), TestEnum.EM_TESTE);
+    salvar(3L, hoje.minusDays(1), TestEnum.TESTE_FINALIZADO);
+    salvar(4L, hoje, TestEnum.EM_TESTE);
+    salvar(5L, hoje.plusDays(2), TestEnum.EM_TESTE);
+    salvar(6L, hoje.minusDays(5), TestEnum.ADQUIRIDO);
+    salvar(7L, hoje.minusDays(5), TestEnum.RETIRADO);
+
+    int atualizados = sweeper.sweep(hoje);
+
+    assertThat(atualizados).isEqualTo(4);
+    assertThat(repository.findById(1L).get().getStatus())
+      .isEqualTo(TestEnum.TESTE_EXPIRADO);
+    assertThat(repository.findById(2L).get().getStatus())
+      .isEqualTo(TestEnum.TESTE_EXPIRADO);
+    assertThat(repository.findById(3L).get().getStatus())
+      .isEqualTo(TestEnum.TESTE_EXPIRADO);
+    assertThat(repository.findById(4L).get().getStatus())
+      .isEqualTo(TestEnum.TESTE_FINALIZADO);
+    assertThat(repository.findById(5L).get().getStatus())
+      .isEqualTo(TestEnum.EM_TESTE);
+    assertThat(repository.findById(6L).get().getStatus())
+      .isEqualTo(TestEnum.ADQUIRIDO);
+    assertThat(repository.findById(7L).get().getStatus())
+      .isEqualTo(TestEnum.RETIRADO);
+  }
+
+  @Test
+  void naoDeveAtualizarNadaNaSegundaVarredura() {
+    LocalDate hoje = LocalDate.now();
+    salvar(1L, hoje.minusDays(1), TestEnum.EM_TESTE);
+    salvar(2L, hoje, TestEnum.EM_TESTE);
+
+    sweeper.sweep(hoje);
+
+    assertThat(sweeper.sweep(hoje)).isZero();
+    assertThat(repository.findByStatus(TestEnum.EM_TESTE)).isEmpty();
+  }
+}
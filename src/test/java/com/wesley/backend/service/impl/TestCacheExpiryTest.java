@@ -0,0 +1,65 @@
+package com.wesley.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+public class TestCacheExpiryTest {
+
+  private static final LocalDate HOJE = LocalDate.of(2025, 6, 10);
+
+  private final TestCacheExpiry expiry = new TestCacheExpiry(
+    Duration.ofDays(7),
+    Clock.fixed(
+      LocalDateTime.of(HOJE, LocalTime.of(18, 0)).toInstant(
+        ZoneOffset.UTC
+      ),
+      ZoneOffset.UTC
+    )
+  );
+
+  private Teste teste(TestEnum status, LocalDate fim) {
+    Teste teste = new Teste(new TestDto(1L, "teste"));
+    teste.setStatus(status);
+    teste.setFim(fim);
+    return teste;
+  }
+
+  @Test
+  void deveExpirarTesteEmAndamentoNoInicioDoDiaDoFim() {
+    Teste teste = teste(TestEnum.EM_TESTE, HOJE.plusDays(2));
+
+    assertThat(expiry.expiration(teste)).isEqualTo(Duration.ofHours(30));
+  }
+
+  @Test
+  void deveExpirarTesteFinalizadoNoInicioDoDiaSeguinteAoFim() {
+    Teste teste = teste(TestEnum.TESTE_FINALIZADO, HOJE);
+
+    assertThat(expiry.expiration(teste)).isEqualTo(Duration.ofHours(6));
+  }
+
+  @Test
+  void naoDeveGuardarTesteComTransicaoVencida() {
+    Teste teste = teste(TestEnum.EM_TESTE, HOJE);
+
+    assertThat(expiry.expiration(teste)).isZero();
+  }
+
+  @Test
+  void deveUsarOTtlQuandoNaoHaTransicaoPendenteOuElaEstaLonge() {
+    assertThat(expiry.expiration(teste(TestEnum.ADQUIRIDO, HOJE)))
+      .isEqualTo(Duration.ofDays(7));
+    assertThat(expiry.expiration(teste(TestEnum.EM_TESTE, HOJE.plusDays(30))))
+      .isEqualTo(Duration.ofDays(7));
+  }
+}
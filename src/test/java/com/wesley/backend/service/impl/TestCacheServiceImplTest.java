@@ -0,0 +1,89 @@
+package com.wesley.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wesley.backend.dto.CacheStatsDto;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestCacheService;
+import com.wesley.backend.service.TestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Usa commits reais, já que a invalidação acontece após o commit.
+ */
+@SpringBootTest
+public class TestCacheServiceImplTest {
+
+  @Autowired
+  private TestCacheService cache;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @BeforeEach
+  void limparCache() {
+    cache.evictAll();
+  }
+
+  @AfterEach
+  void limpar() {
+    for (long id = 1; id <= 2; id++) {
+      if (repository.existsById(id)) {
+        service.deleteTest(id);
+      }
+    }
+  }
+
+  @Test
+  void deveServirLeiturasRepetidasDoCache() {
+    service.createTest(new TestDto(1L, "teste"));
+    CacheStatsDto antes = cache.getStats();
+
+    cache.findById(1L);
+    cache.findById(1L);
+    cache.findById(1L);
+
+    CacheStatsDto depois = cache.getStats();
+    assertThat(depois.missCount() - antes.missCount()).isEqualTo(1);
+    assertThat(depois.hitCount() - antes.hitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void deveDevolverCopiasQueNaoAlteramOCache() {
+    service.createTest(new TestDto(1L, "teste"));
+
+    cache.findById(1L).get().setNome("alterado");
+
+    assertThat(cache.findById(1L).get().getNome()).isEqualTo("teste");
+  }
+
+  @Test
+  void deveInvalidarAposAsEscritas() {
+    service.createTest(new TestDto(1L, "teste"));
+    service.createTest(new TestDto(2L, "teste2"));
+    cache.findById(1L);
+    cache.findById(2L);
+
+    service.updateTest(new UpdateTestDto(1L, "renomeado", null));
+    service.updateTestStatus(new UpdateTestStatusDto(2L, TestEnum.ADQUIRIDO));
+
+    assertThat(cache.findById(1L).get().getNome()).isEqualTo("renomeado");
+    assertThat(cache.findById(2L).get().getStatus())
+      .isEqualTo(TestEnum.ADQUIRIDO);
+
+    service.deleteTest(1L);
+
+    assertThat(cache.findById(1L)).isEmpty();
+  }
+}
@@ -0,0 +1,97 @@
+package com.wesley.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wesley.backend.dto.TestSnapshotRowDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.utils.StatusCounts;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class TestColumnsTest {
+
+  private static final LocalDate HOJE = LocalDate.of(2025, 3, 10);
+
+  private static TestSnapshotRowDto linha(long id, TestEnum status, LocalDate fim) {
+    return new TestSnapshotRowDto(id, "teste" + (id % 3), status, fim);
+  }
+
+  @Test
+  void deveInserirSubstituirERemoverMantendoAsColunasContiguas() {
+    TestColumns colunas = new TestColumns(0);
+    for (long id = 1; id <= 100; id++) {
+      colunas.put(linha(id, TestEnum.EM_TESTE, HOJE));
+    }
+    colunas.put(linha(50, TestEnum.ADQUIRIDO, HOJE.plusDays(1)));
+
+    assertTrue(colunas.remove(1));
+    assertFalse(colunas.remove(1));
+
+    assertEquals(99, colunas.size());
+    assertEquals(3, colunas.dictionarySize());
+    assertNull(colunas.get(1));
+    // o último teste foi movido para a posição do removido
+    assertEquals(linha(100, TestEnum.EM_TESTE, HOJE), colunas.get(100));
+    assertEquals(linha(50, TestEnum.ADQUIRIDO, HOJE.plusDays(1)), colunas.get(50));
+  }
+
+  @Test
+  void deveContarEFiltrarPorPeriodoEStatus() {
+    TestColumns colunas = new TestColumns(0);
+    colunas.put(linha(1, TestEnum.ADQUIRIDO, HOJE));
+    colunas.put(linha(2, TestEnum.ADQUIRIDO, HOJE.plusDays(2)));
+    colunas.put(linha(3, TestEnum.RETIRADO, HOJE.plusDays(1)));
+    colunas.put(linha(4, TestEnum.EM_TESTE, HOJE.plusDays(3)));
+    colunas.put(linha(5, TestEnum.ADQUIRIDO, HOJE.minusDays(1)));
+
+    StatusCounts periodo = colunas.countByStatus(HOJE, HOJE.plusDays(2));
+
+    assertEquals(3, periodo.total());
+    assertEquals(2, periodo.get(TestEnum.ADQUIRIDO));
+    assertEquals(1, periodo.get(TestEnum.RETIRADO));
+    assertEquals(5, colunas.countByStatus().total());
+    assertArrayEquals(
+      new long[] { 1, 2 },
+      colunas.findIds(TestEnum.ADQUIRIDO, HOJE, HOJE.plusDays(2))
+    );
+    assertArrayEquals(
+      new long[] { 1, 2, 3, 4 },
+      colunas.findIds(null, HOJE, HOJE.plusDays(3))
+    );
+  }
+
+  @Test
+  void deveConcordarComUmMapaEmOperacoesAleatorias() {
+    TestColumns colunas = new TestColumns(0);
+    Map<Long, TestSnapshotRowDto> esperado = new HashMap<>();
+    SplittableRandom random = new SplittableRandom(7);
+    TestEnum[] statuses = TestEnum.values();
+
+    for (int i = 0; i < 200_000; i++) {
+      long id = random.nextLong(5_000);
+      if (random.nextInt(3) == 0) {
+        assertEquals(esperado.remove(id) != null, colunas.remove(id));
+      } else {
+        TestSnapshotRowDto linha = linha(
+          id,
+          statuses[random.nextInt(statuses.length)],
+          HOJE.plusDays(random.nextInt(30))
+        );
+        esperado.put(id, linha);
+        colunas.put(linha);
+      }
+    }
+
+    assertEquals(esperado.size(), colunas.size());
+    for (long id = 0; id < 5_000; id++) {
+      assertEquals(esperado.get(id), colunas.get(id));
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.wesley.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class TestNameIndexTest {
+
+  @Test
+  void deveOrdenarPorInicioDePalavraPosicaoETamanho() {
+    TestNameIndex indice = new TestNameIndex(0);
+    indice.put(1, "joao silva");
+    indice.put(2, "ana dasilva");
+    indice.put(3, "maria silva santos");
+    indice.put(4, "silvana");
+    indice.put(5, "jo silva");
+    indice.put(6, "pedro souza");
+
+    // "silvana" começa com o trecho e fica para a busca por prefixo
+    assertArrayEquals(
+      new long[] { 5, 1, 3, 2 },
+      indice.search("silva", 10)
+    );
+    assertArrayEquals(new long[] { 5, 1 }, indice.search("silva", 2));
+    assertArrayEquals(new long[0], indice.search("xyz", 10));
+  }
+
+  @Test
+  void deveAcompanharRenomeacoesERemocoes() {
+    TestNameIndex indice = new TestNameIndex(0);
+    indice.put(1, "cliente alfa");
+    indice.put(2, "cliente beta");
+    indice.put(1, "cliente gama");
+    indice.put(2, "cliente beta");
+
+    assertArrayEquals(new long[0], indice.search("alfa", 10));
+    assertArrayEquals(new long[] { 1 }, indice.search("gama", 10));
+    assertTrue(indice.remove(2));
+    assertFalse(indice.remove(2));
+    assertArrayEquals(new long[0], indice.search("beta", 10));
+    assertEquals(1, indice.size());
+  }
+
+  @Test
+  void deveResponderComoUmaBuscaLinearAposMuitasAlteracoes() {
+    SplittableRandom random = new SplittableRandom(7);
+    String[] palavras = { "ana", "silva", "souza", "teste", "cliente", "lima" };
+    TestNameIndex indice = new TestNameIndex(0);
+    Map<Long, String> esperado = new HashMap<>();
+    // remoções e renomeações suficientes para forçar compactações
+    for (int i = 0; i < 20_000; i++) {
+      long id = 1 + random.nextInt(3_000);
+      if (random.nextInt(4) == 0) {
+        indice.remove(id);
+        esperado.remove(id);
+      } else {
+        String nome =
+          palavras[random.nextInt(palavras.length)] +
+          " " +
+          palavras[random.nextInt(palavras.length)] +
+          random.nextInt(50);
+        indice.put(id, nome);
+        esperado.put(id, nome);
+      }
+    }
+
+    assertEquals(esperado.size(), indice.size());
+    for (String trecho : List.of("silva", "lima1", "e cli", "a so")) {
+      List<Long> linear = new ArrayList<>();
+      esperado.forEach((id, nome) -> {
+        if (nome.indexOf(trecho) > 0) {
+          linear.add(id);
+        }
+      });
+      linear.sort(
+        Comparator
+          .comparing((Long id) -> esperado.get(id).charAt(
+              esperado.get(id).indexOf(trecho) - 1
+            ) != ' ')
+          .thenComparing(id -> esperado.get(id).indexOf(trecho))
+          .thenComparing(id -> esperado.get(id).length())
+          .thenComparing(id -> id)
+      );
+      long[] primeiros = linear
+        .stream()
+        .limit(25)
+        .mapToLong(Long::longValue)
+        .toArray();
+      assertArrayEquals(primeiros, indice.search(trecho, 25), trecho);
+    }
+  }
+}
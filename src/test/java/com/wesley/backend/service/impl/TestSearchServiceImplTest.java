@@ -0,0 +1,133 @@
+package com.wesley.backend.service.impl;
+
+import static com.wesley.backend.sql.QueryAssert.assertThatQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.exceptions.InvalidSearchException;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestService;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Sem @Transactional: o índice de nomes só é atualizado após o commit das
+ * escritas, numa thread própria, e os testes esperam por ela com
+ * awaitRefresh.
+ */
+@SpringBootTest
+public class TestSearchServiceImplTest {
+
+  @Autowired
+  private TestSearchServiceImpl searchService;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @AfterEach
+  void limpar() {
+    for (long id = 1; id <= 10; id++) {
+      if (repository.existsById(id)) {
+        service.deleteTest(id);
+      }
+    }
+  }
+
+  @Test
+  void deveListarPrefixosAntesDosTrechos() {
+    service.createTests(
+      List.of(
+        new TestDto(1L, "João Silva"),
+        new TestDto(2L, "Silvana Souza"),
+        new TestDto(3L, "Ana DaSilva"),
+        new TestDto(4L, "SILVÉRIO"),
+        new TestDto(5L, "Pedro Lima")
+      )
+    );
+    searchService.awaitRefresh();
+
+    assertThat(ids(searchService.search("silv", 10)))
+      .containsExactly(2L, 4L, 1L, 3L);
+    assertThat(ids(searchService.search("  SÍLV ", 3)))
+      .containsExactly(2L, 4L, 1L);
+    // menos de três caracteres: só prefixo
+    assertThat(ids(searchService.search("si", 10))).containsExactly(2L, 4L);
+    assertThat(searchService.search("xyz", 10)).isEmpty();
+  }
+
+  @Test
+  void deveAcompanharAsEscritasConfirmadas() {
+    service.createTest(new TestDto(1L, "Cliente Alfa"));
+    service.createTest(new TestDto(2L, "Cliente Beta"));
+
+    service.updateTest(new UpdateTestDto(1L, "Cliente Gama", null));
+    service.deleteTest(2L);
+    searchService.awaitRefresh();
+
+    assertThat(searchService.search("alfa", 10)).isEmpty();
+    assertThat(searchService.search("beta", 10)).isEmpty();
+    List<TestView> gama = searchService.search("gama", 10);
+    assertThat(ids(gama)).containsExactly(1L);
+    assertThat(gama.get(0).nome()).isEqualTo("Cliente Gama");
+  }
+
+  @Test
+  void deveTratarCuringasDoLikeComoTexto() {
+    service.createTest(new TestDto(1L, "Desconto 50% off"));
+    service.createTest(new TestDto(2L, "Desconto 500"));
+    service.createTest(new TestDto(3L, "lote_a"));
+    service.createTest(new TestDto(4L, "lotea"));
+    searchService.awaitRefresh();
+
+    assertThat(ids(searchService.search("desconto 50%", 10)))
+      .containsExactly(1L);
+    assertThat(ids(searchService.search("lote_", 10))).containsExactly(3L);
+  }
+
+  @Test
+  void naoDeveConsultarOBancoNaThreadDaEscrita() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "Cliente Delta")));
+
+    assertThatQueries(() ->
+      searchService.onTestsChanged(
+        new TestsChangedEvent(List.of(1L), Set.of(TestEnum.EM_TESTE))
+      )
+    ).hasStatements(0);
+    searchService.awaitRefresh();
+
+    assertThat(ids(searchService.search("delta", 10))).containsExactly(1L);
+  }
+
+  @Test
+  void deveRejeitarTermoVazioELimiteForaDoIntervalo() {
+    assertThrows(
+      InvalidSearchException.class,
+      () -> searchService.search("   ", 10)
+    );
+    assertThrows(
+      InvalidSearchException.class,
+      () -> searchService.search("teste", 0)
+    );
+    assertThrows(
+      InvalidSearchException.class,
+      () -> searchService.search("teste", 101)
+    );
+  }
+
+  private static List<Long> ids(List<TestView> tests) {
+    return tests.stream().map(TestView::id).toList();
+  }
+}
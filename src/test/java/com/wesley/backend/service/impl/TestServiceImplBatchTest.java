@@ -0,0 +1,131 @@
+package com.wesley.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wesley.backend.dto.BatchItemResultDto;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.enums.BatchItemStatus;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestService;
+import com.wesley.backend.service.TestStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+
+@SpringBootTest(
+  properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "teste.batch.chunk-size=1000",
+  }
+)
+@Transactional
+public class TestServiceImplBatchTest {
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @Autowired
+  private TestStatisticsService statisticsService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void deveCriarTestesEmLoteInformandoOResultadoDeCadaItem() {
+    repository.save(new Teste(new TestDto(2L, "existente")));
+
+    List<BatchItemResultDto> resultados = service.createTests(
+      Arrays.asList(
+        new TestDto(1L, "teste"),
+        new TestDto(2L, "teste1"),
+        new TestDto(null, "teste2"),
+        new TestDto(3L, null),
+        new TestDto(1L, "teste3"),
+        new TestDto(-4L, "teste4"),
+        null
+      )
+    );
+
+    assertThat(resultados)
+      .extracting(BatchItemResultDto::status)
+      .containsExactly(
+        BatchItemStatus.CREATED,
+        BatchItemStatus.DUPLICATE,
+        BatchItemStatus.INVALID,
+        BatchItemStatus.INVALID,
+        BatchItemStatus.DUPLICATE,
+        BatchItemStatus.INVALID,
+        BatchItemStatus.INVALID
+      );
+    assertEquals("teste", repository.findById(1L).get().getNome());
+    assertEquals("existente", repository.findById(2L).get().getNome());
+  }
+
+  @Test
+  void deveInserirEmLotesJdbc() {
+    int quantidade = 3000;
+    List<TestDto> testes = new ArrayList<>();
+    for (long id = 1; id <= quantidade; id++) {
+      testes.add(new TestDto(id, "teste" + id));
+    }
+    Statistics statistics = entityManagerFactory
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+    statistics.clear();
+
+    List<BatchItemResultDto> resultados = service.createTests(testes);
+
+    assertThat(resultados)
+      .allMatch(resultado -> resultado.status() == BatchItemStatus.CREATED);
+    assertEquals(
+      quantidade,
+      statistics.getEntityStatistics(Teste.class.getName()).getInsertCount()
+    );
+    // sem batching seria um statement preparado por insert
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(50);
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+    try {
+      YearMonth mes = YearMonth.from(LocalDate.now().plusDays(4));
+      assertEquals(quantidade, statisticsService.count(mes, TestEnum.EM_TESTE));
+    } finally {
+      service.deleteTests(EnumSet.allOf(TestEnum.class), null);
+    }
+  }
+
+  @Test
+  void deveCriarUmTesteSemSelectAntesDoInsert() {
+    service.createTest(new TestDto(1L, "teste"));
+    repository.flush();
+    Statistics statistics = entityManagerFactory
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+    statistics.clear();
+
+    service.createTest(new TestDto(2L, "teste1"));
+
+    // apenas o INSERT do teste e o UPDATE do contador do mês
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(
+      1,
+      statistics.getEntityStatistics(Teste.class.getName()).getInsertCount()
+    );
+  }
+}
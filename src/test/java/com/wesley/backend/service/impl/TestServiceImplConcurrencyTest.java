@@ -0,0 +1,159 @@
+package com.wesley.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wesley.backend.dto.BatchItemResultDto;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.BatchItemStatus;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.exceptions.ConcurrentTestModificationException;
+import com.wesley.backend.exceptions.TestModificationException;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestService;
+import com.wesley.backend.service.TestStatisticsService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Dispara escritas concorrentes sobre os mesmos testes, com commits reais,
+ * para garantir que nenhuma atualização se perca e que as corridas sejam
+ * reportadas por item.
+ */
+@SpringBootTest
+public class TestServiceImplConcurrencyTest {
+
+  private static final int TESTES = 50;
+  private static final int OPERADORES = 8;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @Autowired
+  private TestStatisticsService statisticsService;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @AfterEach
+  void limpar() {
+    for (long id = 1; id <= TESTES; id++) {
+      if (repository.existsById(id)) {
+        service.deleteTest(id);
+      }
+    }
+  }
+
+  @Test
+  void naoDevePerderAtualizacoesDeStatusConcorrentes() throws Exception {
+    for (long id = 1; id <= TESTES; id++) {
+      service.createTest(new TestDto(id, "teste" + id));
+    }
+    Map<Long, TestEnum> vencedores = new ConcurrentHashMap<>();
+    AtomicInteger sucessos = new AtomicInteger();
+    AtomicInteger rejeitadas = new AtomicInteger();
+    CountDownLatch largada = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(OPERADORES);
+    List<Future<?>> tarefas = new ArrayList<>();
+
+    for (long id = 1; id <= TESTES; id++) {
+      for (int operador = 0; operador < OPERADORES; operador++) {
+        long testeId = id;
+        TestEnum status = operador % 2 == 0
+          ? TestEnum.ADQUIRIDO
+          : TestEnum.RETIRADO;
+        tarefas.add(
+          executor.submit(() -> {
+            largada.await();
+            try {
+              service.updateTestStatus(new UpdateTestStatusDto(testeId, status));
+              sucessos.incrementAndGet();
+              assertThat(vencedores.putIfAbsent(testeId, status)).isNull();
+            } catch (
+              TestModificationException | ConcurrentTestModificationException e
+            ) {
+              rejeitadas.incrementAndGet();
+            }
+            return null;
+          })
+        );
+      }
+    }
+    largada.countDown();
+    for (Future<?> tarefa : tarefas) {
+      tarefa.get();
+    }
+    executor.shutdown();
+
+    assertEquals(TESTES, sucessos.get());
+    assertEquals(TESTES * (OPERADORES - 1), rejeitadas.get());
+    vencedores.forEach((id, status) ->
+      assertEquals(status, repository.findById(id).get().getStatus())
+    );
+    assertThat(statisticsService.reconcile().drifts()).isEmpty();
+  }
+
+  @Test
+  void deveMarcarComoDuplicadoOIdInseridoPorOutraRequisicaoNoMeioDoLote()
+    throws Exception {
+    CountDownLatch inserido = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    // insere o id 2 e só confirma depois que o lote já passou da checagem
+    Future<?> concorrente = executor.submit(() ->
+      new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+        repository.saveAndFlush(new Teste(new TestDto(2L, "concorrente")));
+        inserido.countDown();
+        try {
+          Thread.sleep(500);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      })
+    );
+    inserido.await();
+
+    try {
+      List<BatchItemResultDto> resultados = service.createTests(
+        List.of(
+          new TestDto(1L, "teste1"),
+          new TestDto(2L, "teste2"),
+          new TestDto(3L, "teste3")
+        )
+      );
+
+      assertThat(resultados)
+        .extracting(BatchItemResultDto::status)
+        .containsExactly(
+          BatchItemStatus.CREATED,
+          BatchItemStatus.DUPLICATE,
+          BatchItemStatus.CREATED
+        );
+      assertEquals("concorrente", repository.findById(2L).get().getNome());
+      assertThat(repository.existsById(1L)).isTrue();
+      assertThat(repository.existsById(3L)).isTrue();
+    } finally {
+      executor.shutdown();
+      concorrente.get();
+      // gravado direto pelo repositório, fora dos contadores
+      repository.deleteById(2L);
+    }
+  }
+}
@@ -1,15 +1,20 @@
 package com.wesley.backend.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.TestView;
 import com.wesley.backend.dto.UpdateTestDto;
 import com.wesley.backend.dto.UpdateTestStatusDto;
 import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.exceptions.TestModificationException;
 import com.wesley.backend.models.Teste;
 import com.wesley.backend.repository.TestRepository;
 import com.wesley.backend.service.TestService;
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,11 +40,23 @@ public class TestServiceImplTest {
     repository.save(new Teste(new TestDto(2L, "teste1")));
 
     Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
-    Page<Teste> testes = service.findAll(pageable);
+    Page<TestView> testes = service.findAll(pageable);
 
     assertEquals(testes.getContent().size(), 2);
-    assertEquals(testes.getContent().get(0).getNome(), "teste");
-    assertEquals(testes.getContent().get(1).getNome(), "teste1");
+    assertEquals(testes.getContent().get(0).nome(), "teste");
+    assertEquals(testes.getContent().get(1).nome(), "teste1");
+  }
+
+  @Test
+  void deveRecalcularOStatusNaProjecaoSemAlterarOBanco() {
+    Teste vencido = new Teste(new TestDto(1L, "vencido"));
+    vencido.setFim(LocalDate.now().minusDays(1));
+    repository.save(vencido);
+
+    TestView view = listarPorStatus("EM_TESTE").get(0);
+
+    assertEquals(TestEnum.TESTE_EXPIRADO, view.status());
+    assertEquals(TestEnum.EM_TESTE, repository.findById(1L).get().getStatus());
   }
 
   @Test
@@ -76,6 +93,18 @@ public class TestServiceImplTest {
     assertEquals(TestEnum.ADQUIRIDO, teste.getStatus());
   }
 
+  @Test
+  void naoDeveAlterarOStatusDeUmTesteJaAdquirido() {
+    repository.save(new Teste(new TestDto(1L, "teste")));
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
+
+    assertThrows(
+      TestModificationException.class,
+      () -> service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.RETIRADO))
+    );
+    assertEquals(TestEnum.ADQUIRIDO, repository.findById(1L).get().getStatus());
+  }
+
   @Test
   void deveListarOsTestesPorStatus() {
     repository.save(new Teste(new TestDto(1L, "teste")));
@@ -84,11 +113,15 @@ public class TestServiceImplTest {
 
     service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
 
-    List<Teste> testes = service.findAllByStatus("EM_TESTE");
+    List<TestView> testes = listarPorStatus("EM_TESTE");
 
     assertEquals(2, testes.size());
-    assertEquals("teste2", testes.get(1).getNome());
+    assertEquals("teste2", testes.get(1).nome());
   }
 
-  
+  private List<TestView> listarPorStatus(String status) {
+    List<TestView> testes = new ArrayList<>();
+    service.streamAllByStatus(status, testes::add);
+    return testes;
+  }
 }
@@ -0,0 +1,100 @@
+package com.wesley.backend.service.impl;
+
+import static com.wesley.backend.sql.QueryAssert.assertThatQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.events.TestsChangedEvent;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Sem @Transactional: o snapshot só é atualizado após o commit das escritas,
+ * numa thread própria, e os testes esperam por ela com awaitRefresh.
+ */
+@SpringBootTest(properties = "teste.snapshot.enabled=true")
+public class TestSnapshotServiceImplTest {
+
+  @Autowired
+  private TestSnapshotServiceImpl snapshotService;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @AfterEach
+  void limpar() {
+    for (long id = 1; id <= 10; id++) {
+      if (repository.existsById(id)) {
+        service.deleteTest(id);
+      }
+    }
+  }
+
+  @Test
+  void deveAcompanharAsEscritasConfirmadas() {
+    LocalDate fim = LocalDate.now().plusDays(4);
+    service.createTests(
+      LongStream.rangeClosed(1, 5)
+        .mapToObj(id -> new TestDto(id, "teste" + id))
+        .toList()
+    );
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
+    service.updateTest(new UpdateTestDto(2L, "renomeado", null));
+    service.deleteTest(5L);
+    snapshotService.awaitRefresh();
+
+    assertEquals(4, snapshotService.countByStatus(fim, fim).total());
+    assertEquals(
+      1,
+      snapshotService.countByStatus(fim, fim).get(TestEnum.ADQUIRIDO)
+    );
+    assertEquals("renomeado", snapshotService.findById(2L).get().nome());
+    assertThat(snapshotService.findById(5L)).isEmpty();
+    assertThat(snapshotService.findIds("em_teste", fim, fim))
+      .containsExactly(2, 3, 4);
+  }
+
+  @Test
+  void deveRecarregarATabelaInteira() {
+    service.createTest(new TestDto(1L, "teste1"));
+    snapshotService.awaitRefresh();
+    Teste teste = repository.findById(1L).get();
+    teste.setNome("alterado");
+    repository.save(teste);
+
+    // a gravação direta pelo repositório não publica evento
+    assertEquals("teste1", snapshotService.findById(1L).get().nome());
+    snapshotService.reload();
+    assertEquals("alterado", snapshotService.findById(1L).get().nome());
+  }
+
+  @Test
+  void naoDeveConsultarOBancoNaThreadDaEscrita() throws Exception {
+    repository.save(new Teste(new TestDto(1L, "teste1")));
+
+    assertThatQueries(() ->
+      snapshotService.onTestsChanged(
+        new TestsChangedEvent(List.of(1L), Set.of(TestEnum.EM_TESTE))
+      )
+    ).hasStatements(0);
+    snapshotService.awaitRefresh();
+
+    assertEquals("teste1", snapshotService.findById(1L).get().nome());
+  }
+}
@@ -0,0 +1,210 @@
+package com.wesley.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.EstatisticPeriodDto;
+import com.wesley.backend.dto.ReconcileReportDto;
+import com.wesley.backend.dto.StatisticDriftDto;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.UpdateTestDto;
+import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.StatisticBucket;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.exceptions.InvalidStatisticsRangeException;
+import com.wesley.backend.models.Teste;
+import com.wesley.backend.models.TesteEstatisticaId;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.repository.TestStatisticRepository;
+import com.wesley.backend.service.TestService;
+import com.wesley.backend.service.TestStatisticsService;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+
+@SpringBootTest
+@Transactional
+public class TestStatisticsServiceImplTest {
+
+  @Autowired
+  private TestStatisticsService statisticsService;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @Autowired
+  private TestStatisticRepository statisticRepository;
+
+  @Test
+  void deveManterOsContadoresNasEscritas() {
+    Teste teste = service.createTest(new TestDto(1L, "teste"));
+    service.createTest(new TestDto(2L, "teste1"));
+    YearMonth mes = YearMonth.from(teste.getFim());
+
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
+    service.deleteTest(2L);
+    commit();
+
+    try {
+      assertEquals(0, statisticsService.count(mes, TestEnum.EM_TESTE));
+      assertEquals(1, statisticsService.count(mes, TestEnum.ADQUIRIDO));
+      EstatisticDto estatisticas = statisticsService.getStatistics(mes);
+      assertEquals(1, estatisticas.totalTestsByMonth());
+      assertEquals(100.0, estatisticas.percentualAcquired());
+    } finally {
+      service.deleteTest(1L);
+    }
+  }
+
+  @Test
+  void deveAplicarOsContadoresSomenteAposOCommit() {
+    Teste teste = service.createTest(new TestDto(1L, "teste"));
+    YearMonth mes = YearMonth.from(teste.getFim());
+
+    assertEquals(0, statisticsService.count(mes, TestEnum.EM_TESTE));
+    TestTransaction.end();
+    assertEquals(0, statisticsService.count(mes, TestEnum.EM_TESTE));
+
+    statisticsService.reconcile();
+    assertEquals(0, statisticsService.count(mes, TestEnum.EM_TESTE));
+  }
+
+  @Test
+  void deveMoverOContadorQuandoOFimMudaDeMes() {
+    Teste teste = service.createTest(new TestDto(1L, "teste"));
+    YearMonth mes = YearMonth.from(teste.getFim());
+    LocalDate novoFim = teste.getFim().plusMonths(2);
+
+    service.updateTest(new UpdateTestDto(1L, null, novoFim));
+    commit();
+
+    try {
+      assertEquals(0, statisticsService.count(mes, TestEnum.EM_TESTE));
+      assertEquals(
+        1,
+        statisticsService.count(YearMonth.from(novoFim), TestEnum.EM_TESTE)
+      );
+    } finally {
+      service.deleteTest(1L);
+    }
+  }
+
+  @Test
+  void deveReconciliarOsContadoresComATabelaDeTestes() {
+    service.createTest(new TestDto(1L, "teste"));
+    Teste semContador = new Teste(new TestDto(2L, "teste1"));
+    semContador.setStatus(TestEnum.RETIRADO);
+    repository.save(semContador);
+    YearMonth mes = YearMonth.from(semContador.getFim());
+
+    ReconcileReportDto report = statisticsService.reconcile();
+
+    assertThat(report.drifts()).containsExactly(
+      new StatisticDriftDto(mes, TestEnum.RETIRADO, 1, 0)
+    );
+    assertEquals(
+      1,
+      statisticRepository
+        .findById(new TesteEstatisticaId(mes, TestEnum.RETIRADO))
+        .get()
+        .getTotal()
+    );
+    assertThat(statisticsService.reconcile().drifts()).isEmpty();
+  }
+
+  private void commit() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+  }
+
+  private void salvar(Long id, LocalDate fim, TestEnum status) {
+    Teste teste = new Teste(new TestDto(id, "teste" + id));
+    teste.setFim(fim);
+    teste.setStatus(status);
+    repository.save(teste);
+  }
+
+  @Test
+  void deveAgruparAsEstatisticasPorDiaESemana() {
+    LocalDate segunda = LocalDate.of(2025, 3, 3);
+    salvar(1L, segunda, TestEnum.ADQUIRIDO);
+    salvar(2L, segunda, TestEnum.RETIRADO);
+    salvar(3L, segunda.plusDays(2), TestEnum.TESTE_EXPIRADO);
+    salvar(4L, segunda.plusDays(7), TestEnum.ADQUIRIDO);
+    salvar(5L, segunda.plusDays(20), TestEnum.ADQUIRIDO);
+
+    List<EstatisticPeriodDto> dias = statisticsService.getStatistics(
+      segunda,
+      segunda.plusDays(3),
+      StatisticBucket.DAY
+    );
+    List<EstatisticPeriodDto> semanas = statisticsService.getStatistics(
+      segunda.minusDays(1),
+      segunda.plusDays(9),
+      StatisticBucket.WEEK
+    );
+
+    assertThat(dias).containsExactly(
+      EstatisticPeriodDto.of(segunda, segunda, 2, 1, 1, 0),
+      EstatisticPeriodDto.of(segunda.plusDays(1), segunda.plusDays(1), 0, 0, 0, 0),
+      EstatisticPeriodDto.of(segunda.plusDays(2), segunda.plusDays(2), 1, 0, 0, 1),
+      EstatisticPeriodDto.of(segunda.plusDays(3), segunda.plusDays(3), 0, 0, 0, 0)
+    );
+    assertThat(semanas).containsExactly(
+      EstatisticPeriodDto.of(segunda.minusDays(1), segunda.minusDays(1), 0, 0, 0, 0),
+      EstatisticPeriodDto.of(segunda, segunda.plusDays(6), 3, 1, 1, 1),
+      EstatisticPeriodDto.of(segunda.plusDays(7), segunda.plusDays(9), 1, 1, 0, 0)
+    );
+    assertEquals(33.33, semanas.get(1).rateOfAcquired(), 0.01);
+  }
+
+  @Test
+  void deveUsarOsContadoresParaMesesCompletos() {
+    Teste teste = service.createTest(new TestDto(1L, "teste"));
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
+    YearMonth mes = YearMonth.from(teste.getFim());
+    commit();
+
+    try {
+      List<EstatisticPeriodDto> meses = statisticsService.getStatistics(
+        mes.atDay(1),
+        mes.plusMonths(1).atEndOfMonth(),
+        StatisticBucket.MONTH
+      );
+
+      assertThat(meses).containsExactly(
+        EstatisticPeriodDto.of(mes.atDay(1), mes.atEndOfMonth(), 1, 1, 0, 0),
+        EstatisticPeriodDto.of(
+          mes.plusMonths(1).atDay(1),
+          mes.plusMonths(1).atEndOfMonth(),
+          0,
+          0,
+          0,
+          0
+        )
+      );
+    } finally {
+      service.deleteTest(1L);
+    }
+  }
+
+  @Test
+  void deveRejeitarPeriodoInvertido() {
+    LocalDate hoje = LocalDate.now();
+
+    assertThrows(
+      InvalidStatisticsRangeException.class,
+      () -> statisticsService.getStatistics(hoje, hoje.minusDays(1), StatisticBucket.DAY)
+    );
+  }
+}
@@ -0,0 +1,67 @@
+package com.wesley.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.dto.UpdateTestStatusDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.repository.TestRepository;
+import com.wesley.backend.service.TestService;
+import com.wesley.backend.service.TestVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Usa commits reais, já que as versões só avançam após o commit.
+ */
+@SpringBootTest
+public class TestVersionServiceImplTest {
+
+  @Autowired
+  private TestVersionService versions;
+
+  @Autowired
+  private TestService service;
+
+  @Autowired
+  private TestRepository repository;
+
+  @AfterEach
+  void limpar() {
+    if (repository.existsById(1L)) {
+      service.deleteTest(1L);
+    }
+  }
+
+  @Test
+  void deveAvancarApenasAsVersoesDosStatusAfetados() {
+    String global = versions.getVersion();
+    String emTeste = versions.getVersion(TestEnum.EM_TESTE);
+    String adquirido = versions.getVersion(TestEnum.ADQUIRIDO);
+    String retirado = versions.getVersion(TestEnum.RETIRADO);
+
+    service.createTest(new TestDto(1L, "teste"));
+
+    assertThat(versions.getVersion()).isNotEqualTo(global);
+    assertThat(versions.getVersion(TestEnum.EM_TESTE)).isNotEqualTo(emTeste);
+    assertThat(versions.getVersion(TestEnum.ADQUIRIDO)).isEqualTo(adquirido);
+
+    service.updateTestStatus(new UpdateTestStatusDto(1L, TestEnum.ADQUIRIDO));
+
+    assertThat(versions.getVersion(TestEnum.ADQUIRIDO)).isNotEqualTo(adquirido);
+    assertThat(versions.getVersion(TestEnum.RETIRADO)).isEqualTo(retirado);
+  }
+
+  @Test
+  void deveAvancarTodasAsVersoes() {
+    String global = versions.getVersion();
+    String retirado = versions.getVersion(TestEnum.RETIRADO);
+
+    versions.bumpAll();
+
+    assertThat(versions.getVersion()).isNotEqualTo(global);
+    assertThat(versions.getVersion(TestEnum.RETIRADO)).isNotEqualTo(retirado);
+  }
+}
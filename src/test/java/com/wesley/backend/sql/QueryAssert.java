@@ -0,0 +1,65 @@
+package com.wesley.backend.sql;
+
+/**
+ * Contratos de desempenho sobre o acesso ao banco de um trecho de código:
+ *
+ * <pre>
+ * QueryAssert.assertThatQueries(() -> mockMvc.perform(get("/v1/test")))
+ *   .hasAtMostStatements(2)
+ *   .hasReadAtMostRows(11);
+ * </pre>
+ *
+ * Conta os statements executados e as linhas lidas pela thread atual
+ * enquanto o trecho roda, pelo proxy JDBC da aplicação.
+ */
+public final class QueryAssert {
+
+  @FunctionalInterface
+  public interface SqlAction {
+    void run() throws Exception;
+  }
+
+  private final QueryStats stats;
+
+  private QueryAssert(QueryStats stats) {
+    this.stats = stats;
+  }
+
+  public static QueryAssert assertThatQueries(SqlAction action)
+    throws Exception {
+    QueryStats stats = QueryStats.open();
+    try {
+      action.run();
+    } finally {
+      stats.close();
+    }
+    return new QueryAssert(stats);
+  }
+
+  public QueryAssert hasAtMostStatements(long max) {
+    if (stats.statements() > max) {
+      throw new AssertionError(
+        "Esperado no máximo " + max + " statements, mas foram " + stats
+      );
+    }
+    return this;
+  }
+
+  public QueryAssert hasStatements(long expected) {
+    if (stats.statements() != expected) {
+      throw new AssertionError(
+        "Esperado exatamente " + expected + " statements, mas foram " + stats
+      );
+    }
+    return this;
+  }
+
+  public QueryAssert hasReadAtMostRows(long max) {
+    if (stats.rows() > max) {
+      throw new AssertionError(
+        "Esperado ler no máximo " + max + " linhas, mas foram " + stats
+      );
+    }
+    return this;
+  }
+}
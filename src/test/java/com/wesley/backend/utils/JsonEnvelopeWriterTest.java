@@ -0,0 +1,91 @@
+package com.wesley.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesley.backend.dto.ResponseDto;
+import com.wesley.backend.dto.ResponsePageDto;
+import com.wesley.backend.dto.TestView;
+import com.wesley.backend.enums.TestEnum;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public class JsonEnvelopeWriterTest {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder
+    .json()
+    .build();
+
+  private final JsonEnvelopeWriter envelopes = new JsonEnvelopeWriter(
+    objectMapper
+  );
+
+  private static List<TestView> testes(int quantidade) {
+    LocalDate fim = LocalDate.now().plusDays(4);
+    return LongStream.rangeClosed(1, quantidade)
+      .mapToObj(id -> new TestView(id, "teste" + id, TestEnum.EM_TESTE, fim))
+      .toList();
+  }
+
+  @Test
+  void deveEscreverOMesmoJsonQueResponseDto() throws Exception {
+    List<TestView> testes = testes(3_000);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try (
+      JsonEnvelopeWriter.Envelope<TestView> envelope = envelopes.open(
+        out,
+        TestView.class
+      )
+    ) {
+      testes.forEach(envelope::write);
+      envelope.finish();
+    }
+
+    assertEquals(
+      objectMapper.writeValueAsString(ResponseDto.success(testes)),
+      out.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  void deveEscreverOMesmoJsonQueResponsePageDto() throws Exception {
+    PageImpl<TestView> pagina = new PageImpl<>(
+      testes(10),
+      PageRequest.of(2, 10),
+      95
+    );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try (
+      JsonEnvelopeWriter.Envelope<TestView> envelope = envelopes.open(
+        out,
+        TestView.class
+      )
+    ) {
+      pagina.forEach(envelope::write);
+      envelope.finishPage(2, 10, 95, 10);
+    }
+
+    assertEquals(
+      objectMapper.writeValueAsString(ResponsePageDto.success(pagina)),
+      out.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  void naoDeveEscreverNadaSeOEnvelopeForFechadoSemItens() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    envelopes.open(out, TestView.class).close();
+
+    assertEquals(0, out.size());
+  }
+}
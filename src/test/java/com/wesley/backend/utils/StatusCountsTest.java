@@ -0,0 +1,83 @@
+package com.wesley.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wesley.backend.dto.EstatisticDto;
+import com.wesley.backend.dto.TestDto;
+import com.wesley.backend.enums.TestEnum;
+import com.wesley.backend.models.Teste;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StatusCountsTest {
+
+  private static final YearMonth MES = YearMonth.of(2025, 3);
+
+  private static Teste teste(long id, LocalDate fim, TestEnum status) {
+    Teste teste = new Teste(new TestDto(id, "teste" + id));
+    teste.setFim(fim);
+    teste.setStatus(status);
+    return teste;
+  }
+
+  private static List<Teste> testes(int quantidade, YearMonth mes) {
+    TestEnum[] statuses = TestEnum.values();
+    List<Teste> testes = new ArrayList<>();
+    for (int i = 0; i < quantidade; i++) {
+      // metade dos testes fora do mês, antes e depois
+      LocalDate fim = mes.atDay(1).plusDays(i % 62 - 15);
+      testes.add(teste(i, fim, statuses[i % statuses.length]));
+    }
+    return testes;
+  }
+
+  @Test
+  void deveContarTodosOsStatusDoMesNumaPassada() {
+    List<Teste> testes = List.of(
+      teste(1, MES.atDay(1), TestEnum.ADQUIRIDO),
+      teste(2, MES.atEndOfMonth(), TestEnum.ADQUIRIDO),
+      teste(3, MES.atDay(10), TestEnum.RETIRADO),
+      teste(4, MES.atDay(10), TestEnum.EM_TESTE),
+      teste(5, MES.atDay(1).minusDays(1), TestEnum.ADQUIRIDO),
+      teste(6, MES.atEndOfMonth().plusDays(1), TestEnum.RETIRADO)
+    );
+
+    StatusCounts counts = TestUtils.countByStatus(testes, MES);
+
+    assertEquals(4, counts.total());
+    assertEquals(2, counts.get(TestEnum.ADQUIRIDO));
+    assertEquals(1, counts.get(TestEnum.RETIRADO));
+    assertEquals(1, counts.get(TestEnum.EM_TESTE));
+    assertEquals(0, counts.get(TestEnum.TESTE_EXPIRADO));
+    assertEquals(EstatisticDto.of(4, 2, 1), counts.toEstatisticDto());
+  }
+
+  @Test
+  void deveChegarAoMesmoResultadoQueFiltroEContagem() {
+    YearMonth mesAtual = YearMonth.now();
+    List<Teste> testes = testes(10_000, mesAtual);
+    List<Teste> doMes = TestUtils.filterTestsByMonth(testes);
+
+    StatusCounts counts = TestUtils.countByStatus(testes, mesAtual);
+
+    assertEquals(doMes.size(), counts.total());
+    for (TestEnum status : TestEnum.values()) {
+      assertEquals(TestUtils.countByStatus(doMes, status), counts.get(status));
+    }
+  }
+
+  @Test
+  void deveSomarAsPartesDeUmStreamParalelo() {
+    List<Teste> testes = testes(100_000, MES);
+
+    StatusCounts sequencial = TestUtils.countByStatus(testes, MES);
+    StatusCounts paralelo = testes
+      .parallelStream()
+      .collect(TestUtils.statusCounts(MES.atDay(1), MES.atEndOfMonth()));
+
+    assertEquals(sequencial.toString(), paralelo.toString());
+  }
+}